@@ -15,6 +15,15 @@
  *******************************************************************************/
 package com.qaprosoft.apitools.validation;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +37,11 @@ import org.skyscreamer.jsonassert.comparator.DefaultComparator;
 
 public class JsonKeywordsComparator extends DefaultComparator {
 
+    // regex keyword values are the same for every compared array item so compile them once
+    private static final Map<String, Pattern> REGEX_CACHE = new ConcurrentHashMap<String, Pattern>();
+
+    private static final String MISSED_FIELD = "<missed>";
+
     private String validationFlags[];
 
     public JsonKeywordsComparator(JSONCompareMode mode, String... validationFlags) {
@@ -49,7 +63,7 @@ public class JsonKeywordsComparator extends DefaultComparator {
             if (actualValue instanceof Number || actualValue instanceof String) {
                 String actualStr = actualValue.toString();
                 String regex = expectedValue.toString().replace(JsonCompareKeywords.REGEX.getKey(), "");
-                Matcher m = Pattern.compile(regex).matcher(actualStr);
+                Matcher m = REGEX_CACHE.computeIfAbsent(regex, Pattern::compile).matcher(actualStr);
                 if (!m.find()) {
                     result.fail(String.format("%s\nActual value '%s' doesn't match to expected regex '%s'\n", prefix, actualStr, regex));
                 }
@@ -74,50 +88,72 @@ public class JsonKeywordsComparator extends DefaultComparator {
             }
         }
 
-        JSONArray actualTmp = new JSONArray();
-        for (int i1 = 0; i1 < actual.length(); i1++) {
-            actualTmp.put(actual.get(i1));
+        // actual items are bucketed by values of the fields which expected items require to be exactly equal,
+        // so the matching item can be found only inside a bucket with the same fingerprint
+        List<String> fingerprintFields = getFingerprintFields(expected);
+        Map<String, List<Integer>> buckets = new HashMap<String, List<Integer>>();
+        for (int j = 0; j < actual.length(); ++j) {
+            buckets.computeIfAbsent(getFingerprint(actual.get(j), fingerprintFields), k -> new ArrayList<Integer>()).add(j);
         }
+        boolean[] consumed = new boolean[actual.length()];
+        int remaining = actual.length();
+
         for (int i = 0; i < expected.length(); ++i) {
-            boolean isEquals = false;
             if (!JSONObject.class.equals(expected.get(i).getClass())) {
                 compareJSONArrayForSimpleTypeWContains(prefix, expected, actual, result);
                 break;
             }
             JSONObject expectedValue = (JSONObject) expected.get(i);
+            if (remaining == 0) {
+                result.fail(String.format("%s[%d]\nExpected array item is missed in actual array\n", prefix, i));
+                continue;
+            }
 
-            JSONObject actValueMostlySimilar = (JSONObject) actualTmp.get(0);
-            int actValueMostlySimilarIndex = 0;
-            int minErrorsCount = Integer.MAX_VALUE;
-
-            for (int j = 0; j < actualTmp.length(); ++j) {
-                JSONObject actualValue = (JSONObject) actualTmp.get(j);
-                JSONCompareResult tmpResult = new JSONCompareResult();
-                compareValues(prefix + "[" + i + "]", expectedValue, actualValue, tmpResult);
-                if (tmpResult.passed()) {
-                    isEquals = true;
-                    actValueMostlySimilarIndex = j;
-                    break;
+            int actValueIndex = -1;
+            List<Integer> bucket = buckets.get(getFingerprint(expectedValue, fingerprintFields));
+            if (bucket != null) {
+                for (int j : bucket) {
+                    JSONCompareResult tmpResult = new JSONCompareResult();
+                    compareValues(prefix + "[" + i + "]", expectedValue, actual.get(j), tmpResult);
+                    if (tmpResult.passed()) {
+                        actValueIndex = j;
+                        break;
+                    }
                 }
-                if (tmpResult.getFieldFailures().size() < minErrorsCount) {
-                    minErrorsCount = tmpResult.getFieldFailures().size();
-                    actValueMostlySimilar = actualValue;
-                    actValueMostlySimilarIndex = j;
-                }
-            }
-            if (!isEquals) {
-                JSONCompareResult tmpResult = new JSONCompareResult();
-                super.compareJSON(prefix + "[" + i + "]", expectedValue, actValueMostlySimilar, tmpResult);
-                result.fail(tmpResult.getMessage());
             }
 
-            JSONArray arrayAfterRemove = new JSONArray();
-            for (int i1 = 0; i1 < actualTmp.length(); i1++) {
-                if (i1 != actValueMostlySimilarIndex) {
-                    arrayAfterRemove.put(actualTmp.get(i1));
+            if (actValueIndex < 0) {
+                // fingerprint is only a shortcut, so check all remaining items and find mostly similar one to report
+                // the difference if there is no equal item at all
+                int minErrorsCount = Integer.MAX_VALUE;
+                boolean matched = false;
+                for (int j = 0; j < actual.length() && !matched; ++j) {
+                    if (consumed[j]) {
+                        continue;
+                    }
+                    if (actValueIndex < 0) {
+                        actValueIndex = j;
+                    }
+                    JSONCompareResult tmpResult = new JSONCompareResult();
+                    compareValues(prefix + "[" + i + "]", expectedValue, actual.get(j), tmpResult);
+                    if (tmpResult.passed()) {
+                        actValueIndex = j;
+                        matched = true;
+                    } else if (tmpResult.getFieldFailures().size() < minErrorsCount) {
+                        minErrorsCount = tmpResult.getFieldFailures().size();
+                        actValueIndex = j;
+                    }
+                }
+                if (!matched) {
+                    JSONCompareResult tmpResult = new JSONCompareResult();
+                    super.compareJSON(prefix + "[" + i + "]", expectedValue, (JSONObject) actual.get(actValueIndex), tmpResult);
+                    result.fail(tmpResult.getMessage());
                 }
             }
-            actualTmp = arrayAfterRemove;
+
+            consumed[actValueIndex] = true;
+            remaining--;
+            buckets.get(getFingerprint(actual.get(actValueIndex), fingerprintFields)).remove(Integer.valueOf(actValueIndex));
         }
     }
 
@@ -126,20 +162,79 @@ public class JsonKeywordsComparator extends DefaultComparator {
         if (expected.length() == 1 && JsonCompareKeywords.SKIP.getKey().equals(expected.get(0).toString())) {
             return;
         }
+        Set<Object> actualItems = new HashSet<Object>();
+        for (int j = 0; j < actual.length(); ++j) {
+            actualItems.add(actual.get(j));
+        }
+
         for (int i = 0; i < expected.length(); ++i) {
-            boolean isEquals = false;
+            if (!actualItems.contains(expected.get(i))) {
+                result.fail(String.format("%s\nExpected array item '" + expected.get(i) + "' is missed in actual array\n", prefix));
+            }
+        }
+    }
 
-            for (int j = 0; j < actual.length(); ++j) {
-                if (expected.get(i).equals(actual.get(j))) {
-                    isEquals = true;
-                    break;
+    /**
+     * Collects names of the fields which have plain (not keyword) values in every expected array item.
+     * 
+     * @param expected JSONArray
+     * @return sorted list of field names
+     */
+    private List<String> getFingerprintFields(JSONArray expected) throws JSONException {
+        Set<String> fields = null;
+        for (int i = 0; i < expected.length(); ++i) {
+            if (!JSONObject.class.equals(expected.get(i).getClass())) {
+                return new ArrayList<String>();
+            }
+            JSONObject item = (JSONObject) expected.get(i);
+            Set<String> itemFields = new LinkedHashSet<String>();
+            Iterator<?> keys = item.keys();
+            while (keys.hasNext()) {
+                String key = (String) keys.next();
+                if (isPlainValue(item.get(key))) {
+                    itemFields.add(key);
                 }
             }
+            if (fields == null) {
+                fields = itemFields;
+            } else {
+                fields.retainAll(itemFields);
+            }
+        }
+        List<String> result = fields == null ? new ArrayList<String>() : new ArrayList<String>(fields);
+        result.sort(null);
+        return result;
+    }
 
-            if (!isEquals) {
-                result.fail(String.format("%s\nExpected array item '" + expected.get(i) + "' is missed in actual array\n", prefix));
+    private boolean isPlainValue(Object value) {
+        if (value instanceof String) {
+            String str = (String) value;
+            return !JsonCompareKeywords.SKIP.getKey().equals(str) && !str.startsWith(JsonCompareKeywords.TYPE.getKey())
+                    && !str.startsWith(JsonCompareKeywords.REGEX.getKey());
+        }
+        return value instanceof Number || value instanceof Boolean || JSONObject.NULL.equals(value);
+    }
+
+    private String getFingerprint(Object item, List<String> fields) throws JSONException {
+        if (fields.isEmpty() || !(item instanceof JSONObject)) {
+            return "";
+        }
+        JSONObject obj = (JSONObject) item;
+        StringBuilder fingerprint = new StringBuilder();
+        for (String field : fields) {
+            Object value = obj.has(field) ? obj.get(field) : MISSED_FIELD;
+            if (value instanceof Number) {
+                // numbers are compared by double value where -0.0 equals to 0.0
+                double number = ((Number) value).doubleValue();
+                fingerprint.append("n:").append(number == 0 ? 0.0 : number);
+            } else if (value instanceof String) {
+                fingerprint.append("s:").append(((String) value).length()).append(':').append(value);
+            } else {
+                fingerprint.append(value.getClass().getSimpleName()).append(':').append(value);
             }
+            fingerprint.append('|');
         }
+        return fingerprint.toString();
     }
 
-}
\ No newline at end of file
+}
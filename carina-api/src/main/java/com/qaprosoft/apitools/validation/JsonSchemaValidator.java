@@ -15,6 +15,171 @@
  *******************************************************************************/
 package com.qaprosoft.apitools.validation;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+/**
+ * Compiled JSON schema. Schema is parsed and its draft version is detected only once so the same instance can be
+ * reused for validation of any number of JSON documents from any thread.
+ */
 public class JsonSchemaValidator {
+    private final static Logger LOGGER = Logger.getLogger(JsonSchemaValidator.class);
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\d+", Pattern.MULTILINE);
+
+    private static volatile JsonSchemaFactory schemaFactory;
+
+    // draft-03/draft-04 schema
+    private final JsonSchema schemaV3V4;
+
+    // draft-06/draft-07 schema
+    private final Schema schemaV6V7;
+
+    private JsonSchemaValidator(JsonSchema schemaV3V4, Schema schemaV6V7) {
+        this.schemaV3V4 = schemaV3V4;
+        this.schemaV6V7 = schemaV6V7;
+    }
+
+    /**
+     * Detects draft version of the schema and compiles corresponding validator.
+     * 
+     * @param jsonSchema String
+     * @return JsonSchemaValidator
+     */
+    public static JsonSchemaValidator compile(String jsonSchema) {
+        Matcher m = VERSION_PATTERN.matcher(jsonSchema);
+        if (m.find()) {
+            int schemaVersion = Integer.valueOf(m.group());
+            if (schemaVersion <= 4) {
+                LOGGER.info("JSON schema of version below or equal to draft-04 was detected");
+                return compileV3V4(jsonSchema);
+            } else {
+                LOGGER.info("JSON schema of version higher than draft-04 was detected");
+                return compileV6V7(jsonSchema);
+            }
+        } else {
+            LOGGER.warn("JSON schema version can not be detected");
+            return compileV3V4(jsonSchema);
+        }
+    }
+
+    public static JsonSchemaValidator compileV3V4(String jsonSchema) {
+        JsonNode schemaNode;
+        try {
+            schemaNode = JsonLoader.fromString(jsonSchema);
+        } catch (IOException e) {
+            throw new RuntimeException("Can't read schema from String: " + e.getMessage(), e);
+        }
+
+        try {
+            return new JsonSchemaValidator(getSchemaFactory().getJsonSchema(schemaNode), null);
+        } catch (ProcessingException e) {
+            throw new RuntimeException("Can't process shema", e);
+        }
+    }
+
+    public static JsonSchemaValidator compileV6V7(String jsonSchema) {
+        JSONObject rawSchema;
+        try {
+            rawSchema = new JSONObject(new JSONTokener(jsonSchema));
+        } catch (JSONException e) {
+            throw new RuntimeException("Can't parse json schema from file: " + e.getMessage(), e);
+        }
+        return new JsonSchemaValidator(null, SchemaLoader.load(rawSchema));
+    }
+
+    private static JsonSchemaFactory getSchemaFactory() {
+        if (schemaFactory == null) {
+            synchronized (JsonSchemaValidator.class) {
+                if (schemaFactory == null) {
+                    schemaFactory = JsonSchemaFactory.byDefault();
+                }
+            }
+        }
+        return schemaFactory;
+    }
+
+    /**
+     * Validates JSON data against compiled schema.
+     * 
+     * @param jsonData String
+     * @throws AssertionError if data doesn't match the schema
+     */
+    public void validate(String jsonData) {
+        if (schemaV3V4 != null) {
+            validateV3V4(jsonData);
+        } else {
+            validateV6V7(jsonData);
+        }
+    }
+
+    private void validateV3V4(String jsonData) {
+        JsonNode data;
+        try {
+            data = JsonLoader.fromString(jsonData);
+        } catch (IOException e) {
+            throw new RuntimeException("Can't read json from String: " + e.getMessage(), e);
+        }
+
+        ProcessingReport report;
+        try {
+            report = schemaV3V4.validate(data, true);
+        } catch (ProcessingException e) {
+            throw new RuntimeException("Exception during processing Json", e);
+        }
+        if (report.isSuccess()) {
+            LOGGER.info("Validation against Json schema successfully passed");
+        } else {
+            StringBuffer result = new StringBuffer("Validation against Json schema failed: \n");
+            Iterator<ProcessingMessage> itr = report.iterator();
+            while (itr.hasNext()) {
+                ProcessingMessage message = (ProcessingMessage) itr.next();
+                JsonNode json = message.asJson();
+                String instance = json.get("instance").get("pointer").asText();
+                String errorMsg = json.get("message").asText();
+                result.append("[");
+                result.append(instance);
+                result.append("]: ");
+                result.append(errorMsg);
+                result.append("\n");
+            }
+            throw new AssertionError(result.toString());
+        }
+    }
+
+    private void validateV6V7(String jsonData) {
+        JSONObject data;
+        try {
+            data = new JSONObject(new JSONTokener(jsonData));
+        } catch (JSONException e) {
+            throw new RuntimeException("Can't parse json data schema from file: " + e.getMessage(), e);
+        }
+
+        StringBuffer result = new StringBuffer("Validation against Json schema failed: \n");
+        try {
+            schemaV6V7.validate(data);
+        } catch (ValidationException ex) {
+            ex.getAllMessages().stream().peek(e -> result.append("\n")).forEach(result::append);
+            throw new AssertionError(result.toString());
+        }
+    }
 
 }
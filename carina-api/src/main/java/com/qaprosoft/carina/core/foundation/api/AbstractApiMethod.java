@@ -18,15 +18,11 @@ package com.qaprosoft.carina.core.foundation.api;
 import static com.jayway.restassured.RestAssured.given;
 
 import java.io.PrintStream;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.hamcrest.Matcher;
@@ -34,19 +30,16 @@ import org.hamcrest.Matchers;
 import org.hamcrest.xml.HasXPath;
 
 import com.jayway.restassured.RestAssured;
-import com.jayway.restassured.config.RestAssuredConfig;
-import com.jayway.restassured.config.SSLConfig;
 import com.jayway.restassured.filter.log.RequestLoggingFilter;
 import com.jayway.restassured.filter.log.ResponseLoggingFilter;
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.specification.RequestSpecification;
 import com.qaprosoft.carina.core.foundation.api.http.HttpClient;
+import com.qaprosoft.carina.core.foundation.api.http.HttpClientPool;
 import com.qaprosoft.carina.core.foundation.api.http.HttpMethodType;
 import com.qaprosoft.carina.core.foundation.api.http.HttpResponseStatusType;
 import com.qaprosoft.carina.core.foundation.api.log.LoggingOutputStream;
-import com.qaprosoft.carina.core.foundation.api.ssl.NullHostnameVerifier;
-import com.qaprosoft.carina.core.foundation.api.ssl.NullX509TrustManager;
 import com.qaprosoft.carina.core.foundation.api.ssl.SSLContextBuilder;
 import com.qaprosoft.carina.core.foundation.utils.Configuration;
 import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
@@ -55,6 +48,10 @@ import com.qaprosoft.carina.core.foundation.utils.R;
 @SuppressWarnings("deprecation")
 public abstract class AbstractApiMethod extends HttpClient {
     protected static final Logger LOGGER = Logger.getLogger(AbstractApiMethod.class);
+    // shared auto-flushed stream as PrintStream synchronizes every println
+    private static final PrintStream LOG_STREAM = new PrintStream(new LoggingOutputStream(LOGGER, Level.INFO), true);
+    private static final RequestLoggingFilter REQUEST_LOGGING_FILTER = new RequestLoggingFilter(LOG_STREAM);
+    private static final ResponseLoggingFilter RESPONSE_LOGGING_FILTER = new ResponseLoggingFilter(LOG_STREAM);
     private StringBuilder bodyContent = null;
     protected String methodPath = null;
     protected HttpMethodType methodType = null;
@@ -63,18 +60,20 @@ public abstract class AbstractApiMethod extends HttpClient {
     private boolean logRequest = Configuration.getBoolean(Parameter.LOG_ALL_JSON);
     private boolean logResponse = Configuration.getBoolean(Parameter.LOG_ALL_JSON);
     private boolean ignoreSSL = Configuration.getBoolean(Parameter.IGNORE_SSL);
+    private boolean isRequestLogged = false;
+    private boolean isResponseLogged = false;
 
     public AbstractApiMethod() {
         init(getClass());
         bodyContent = new StringBuilder();
-        request = given();
+        request = given().config(HttpClientPool.getConfig());
         request.contentType(ContentType.TEXT);
     }
 
     public AbstractApiMethod(String contentType) {
         init(getClass());
         bodyContent = new StringBuilder();
-        request = given();
+        request = given().config(HttpClientPool.getConfig());
         request.contentType(contentType);
     }
 
@@ -185,25 +184,17 @@ public abstract class AbstractApiMethod extends HttpClient {
         if (bodyContent.length() != 0)
             request.body(bodyContent.toString());
 
-        Response rs = null;
-
-        PrintStream ps = null;
-        if (logRequest || logResponse) {
-            ps = new PrintStream(new LoggingOutputStream(LOGGER, Level.INFO));
+        if (logRequest && !isRequestLogged) {
+            request.filter(REQUEST_LOGGING_FILTER);
+            isRequestLogged = true;
         }
 
-        if (logRequest)
-            request.filter(new RequestLoggingFilter(ps));
-
-        if (logResponse)
-            request.filter(new ResponseLoggingFilter(ps));
-        try {
-            rs = HttpClient.send(request, methodPath, methodType);
-        } finally {
-            if (ps != null)
-                ps.close();
+        if (logResponse && !isResponseLogged) {
+            request.filter(RESPONSE_LOGGING_FILTER);
+            isResponseLogged = true;
         }
-        return rs;
+
+        return HttpClient.send(request, methodPath, methodType);
     }
 
     /**
@@ -251,37 +242,11 @@ public abstract class AbstractApiMethod extends HttpClient {
     }
 
     public void ignoreSSLCerts() {
-        SSLContext sslContext = null;
-        try {
-            sslContext = SSLContext.getInstance("TLS");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-        TrustManager[] trustManagerArray = { new NullX509TrustManager() };
-        try {
-            sslContext.init(null, trustManagerArray, null);
-        } catch (KeyManagementException e) {
-            throw new RuntimeException(e);
-        }
-
-        SSLSocketFactory socketFactory = new SSLSocketFactory(sslContext, new NullHostnameVerifier());
-        SSLConfig sslConfig = new SSLConfig();
-        sslConfig = sslConfig.sslSocketFactory(socketFactory);
-        sslConfig = sslConfig.x509HostnameVerifier(new NullHostnameVerifier());
-
-        RestAssuredConfig cfg = new RestAssuredConfig();
-        cfg = cfg.sslConfig(sslConfig);
-        request = request.config(cfg);
+        request = request.config(HttpClientPool.getTrustAllConfig());
     }
 
     public void setSSLContext(SSLContext sslContext) {
-        SSLSocketFactory socketFactory = new SSLSocketFactory(sslContext);
-        SSLConfig sslConfig = new SSLConfig();
-        sslConfig = sslConfig.sslSocketFactory(socketFactory);
-
-        RestAssuredConfig cfg = new RestAssuredConfig();
-        cfg = cfg.sslConfig(sslConfig);
-        request = request.config(cfg);
+        request = request.config(HttpClientPool.getConfig(sslContext));
     }
 
     public void setDefaultTLSSupport() {
@@ -17,7 +17,9 @@ package com.qaprosoft.carina.core.foundation.api;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.json.JSONException;
 import org.skyscreamer.jsonassert.JSONAssert;
@@ -27,9 +29,13 @@ import com.jayway.restassured.response.Response;
 import com.qaprosoft.apitools.builder.PropertiesProcessorMain;
 import com.qaprosoft.apitools.message.TemplateMessage;
 import com.qaprosoft.apitools.validation.JsonKeywordsComparator;
+import com.qaprosoft.apitools.validation.JsonSchemaValidator;
 import com.qaprosoft.apitools.validation.JsonValidator;
 
 public abstract class AbstractApiMethodV2 extends AbstractApiMethod {
+    // schema path -> compiled schema
+    private static final Map<String, JsonSchemaValidator> SCHEMA_VALIDATORS = new ConcurrentHashMap<String, JsonSchemaValidator>();
+
     private Properties properties;
     private String rqPath;
     private String rsPath;
@@ -159,10 +165,11 @@ public abstract class AbstractApiMethodV2 extends AbstractApiMethod {
         if (actualRsBody == null) {
             throw new RuntimeException("Actual response body is null. Please make API call before validation response");
         }
-        TemplateMessage tm = new TemplateMessage();
-        tm.setTemplatePath(schemaPath);
-        String schema = tm.getMessageText();
-        JsonValidator.validateJsonAgainstSchema(schema, actualRsBody);
+        SCHEMA_VALIDATORS.computeIfAbsent(schemaPath, path -> {
+            TemplateMessage tm = new TemplateMessage();
+            tm.setTemplatePath(path);
+            return JsonValidator.getSchemaValidator(tm.getMessageText());
+        }).validate(actualRsBody);
     }
 
     public void setAuth(String jSessionId) {
@@ -19,6 +19,8 @@ import org.apache.log4j.Logger;
 
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.specification.RequestSpecification;
+import com.qaprosoft.carina.core.foundation.utils.Configuration;
+import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
 import com.qaprosoft.carina.proxy.SystemProxy;
 
 /*
@@ -29,9 +31,12 @@ import com.qaprosoft.carina.proxy.SystemProxy;
 public class HttpClient {
     protected static final Logger LOGGER = Logger.getLogger(HttpClient.class);
 
+    // proxy settings applied to the system properties last time
+    private static volatile String appliedProxy;
+
     public static Response send(RequestSpecification request, String methodPath, HttpMethodType methodType) {
         Response response = null;
-        SystemProxy.setupProxy();
+        setupProxy();
         switch (methodType) {
         case HEAD:
             response = request.head(methodPath);
@@ -61,4 +66,25 @@ public class HttpClient {
         return response;
     }
 
+    /**
+     * Setup system proxy only when proxy settings were changed instead of doing it for every request. Settings can be
+     * changed in runtime, e.g. ProxyPool puts host and port of the started proxy.
+     */
+    private static void setupProxy() {
+        String proxy = getProxy();
+        if (!proxy.equals(appliedProxy)) {
+            synchronized (HttpClient.class) {
+                if (!proxy.equals(appliedProxy)) {
+                    SystemProxy.setupProxy();
+                    appliedProxy = proxy;
+                }
+            }
+        }
+    }
+
+    private static String getProxy() {
+        return Configuration.get(Parameter.PROXY_HOST) + ":" + Configuration.get(Parameter.PROXY_PORT) + "/"
+                + Configuration.get(Parameter.PROXY_PROTOCOLS);
+    }
+
 }
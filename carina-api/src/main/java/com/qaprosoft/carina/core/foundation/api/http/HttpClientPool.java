@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.http;
+
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.HttpClientConfig;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.config.SSLConfig;
+import com.qaprosoft.carina.core.foundation.api.ssl.NullHostnameVerifier;
+import com.qaprosoft.carina.core.foundation.api.ssl.NullX509TrustManager;
+
+/*
+ * HttpClientPool - keeps single keep-alive connection pool for all API calls. Configurations are derived from the
+ * global RestAssured.config on every call, and every request gets its own HTTP client on top of the shared pool so
+ * credentials and request parameters never leak between requests.
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+
+    private static final int MAX_CONNECTIONS_TOTAL = 200;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 50;
+
+    private static final PooledHttpClientFactory POOLED_FACTORY = new PooledHttpClientFactory();
+
+    // separate pool as socket factory is registered in the scheme registry of the connection manager
+    private static volatile PooledHttpClientFactory trustAllFactory;
+
+    private static volatile SSLConfig trustAllSslConfig;
+
+    private HttpClientPool() {
+    }
+
+    /**
+     * @return global RestAssuredConfig which uses pooled HTTP connections
+     */
+    public static RestAssuredConfig getConfig() {
+        return withFactory(getGlobalConfig(), POOLED_FACTORY);
+    }
+
+    /**
+     * @return global RestAssuredConfig which uses pooled HTTP connections and trusts any SSL certificate. SSL context
+     *         and connection pool are created only once.
+     */
+    public static RestAssuredConfig getTrustAllConfig() {
+        if (trustAllSslConfig == null) {
+            synchronized (HttpClientPool.class) {
+                if (trustAllSslConfig == null) {
+                    SSLContext sslContext = null;
+                    try {
+                        sslContext = SSLContext.getInstance("TLS");
+                    } catch (NoSuchAlgorithmException e) {
+                        throw new RuntimeException(e);
+                    }
+                    TrustManager[] trustManagerArray = { new NullX509TrustManager() };
+                    try {
+                        sslContext.init(null, trustManagerArray, null);
+                    } catch (KeyManagementException e) {
+                        throw new RuntimeException(e);
+                    }
+
+                    SSLSocketFactory socketFactory = new SSLSocketFactory(sslContext, new NullHostnameVerifier());
+                    SSLConfig sslConfig = new SSLConfig();
+                    sslConfig = sslConfig.sslSocketFactory(socketFactory);
+                    sslConfig = sslConfig.x509HostnameVerifier(new NullHostnameVerifier());
+                    trustAllFactory = new PooledHttpClientFactory();
+                    trustAllSslConfig = sslConfig;
+                }
+            }
+        }
+        return withFactory(getGlobalConfig(), trustAllFactory).sslConfig(trustAllSslConfig);
+    }
+
+    /**
+     * @param sslContext custom SSL context
+     * @return global RestAssuredConfig which uses own HTTP client with provided SSL context
+     */
+    public static RestAssuredConfig getConfig(SSLContext sslContext) {
+        SSLConfig sslConfig = new SSLConfig();
+        sslConfig = sslConfig.sslSocketFactory(new SSLSocketFactory(sslContext));
+        return getGlobalConfig().sslConfig(sslConfig);
+    }
+
+    private static RestAssuredConfig getGlobalConfig() {
+        RestAssuredConfig config = RestAssured.config;
+        return config != null ? config : RestAssuredConfig.newConfig();
+    }
+
+    private static RestAssuredConfig withFactory(RestAssuredConfig config, HttpClientConfig.HttpClientFactory factory) {
+        return config.httpClient(config.getHttpClientConfig().httpClientFactory(factory));
+    }
+
+    private static class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+        private final PoolingClientConnectionManager connectionManager;
+
+        private PooledHttpClientFactory() {
+            connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault());
+            connectionManager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+            connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        }
+
+        @Override
+        public AbstractHttpClient createHttpClient() {
+            // new client per request: credentials provider and params are per client, connections are shared
+            return new DefaultHttpClient(connectionManager);
+        }
+    }
+
+}
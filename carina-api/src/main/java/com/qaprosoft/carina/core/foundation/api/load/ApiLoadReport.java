@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+
+import com.qaprosoft.carina.core.foundation.report.ReportContext;
+
+/**
+ * Results of API load run: latency histogram, errors and throughput per API method.
+ */
+public class ApiLoadReport {
+    private static final Logger LOGGER = Logger.getLogger(ApiLoadReport.class);
+
+    private final Map<String, MethodStats> stats;
+    private final long durationNanos;
+    private final int virtualUsers;
+
+    ApiLoadReport(Map<String, MethodStats> stats, long durationNanos, int virtualUsers) {
+        this.stats = Collections.unmodifiableMap(stats);
+        this.durationNanos = durationNanos;
+        this.virtualUsers = virtualUsers;
+    }
+
+    public Map<String, MethodStats> getStats() {
+        return stats;
+    }
+
+    public MethodStats getStats(String methodName) {
+        return stats.get(methodName);
+    }
+
+    public long getDuration(TimeUnit unit) {
+        return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    /**
+     * @param methodName API method class simple name
+     * @return successful and failed calls per second
+     */
+    public double getThroughput(String methodName) {
+        MethodStats methodStats = stats.get(methodName);
+        if (methodStats == null || durationNanos == 0) {
+            return 0;
+        }
+        return methodStats.getCalls() * 1000000000.0 / durationNanos;
+    }
+
+    /**
+     * Writes report into the log and into api-load.txt file inside current test folder. Called by
+     * {@link ApiLoadRunner#run()} when load run finishes.
+     * 
+     * @return report file or null if report can't be saved
+     */
+    public File save() {
+        String content = toString();
+        LOGGER.info(content);
+        File file = null;
+        try {
+            file = new File(ReportContext.getTestDir(), "api-load.txt");
+            FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Unable to save API load report: " + e.getMessage(), e);
+        }
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("API load report: %d virtual user(s), duration %d ms%n", virtualUsers, getDuration(TimeUnit.MILLISECONDS)));
+        sb.append(String.format("%-40s %8s %8s %8s %10s %10s %10s %10s %10s%n", "method", "calls", "errors", "rps", "mean,ms", "p50,ms",
+                "p90,ms", "p99,ms", "max,ms"));
+        for (Map.Entry<String, MethodStats> entry : stats.entrySet()) {
+            MethodStats methodStats = entry.getValue();
+            LatencyHistogram histogram = methodStats.getHistogram();
+            sb.append(String.format("%-40s %8d %8d %8.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), methodStats.getCalls(),
+                    methodStats.getErrors(), getThroughput(entry.getKey()), histogram.getMeanMs(), histogram.getPercentileMs(50),
+                    histogram.getPercentileMs(90), histogram.getPercentileMs(99), histogram.getMaxMs()));
+        }
+        return sb.toString();
+    }
+}
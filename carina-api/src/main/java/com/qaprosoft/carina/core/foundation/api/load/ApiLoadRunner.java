@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+import com.jayway.restassured.response.Response;
+import com.qaprosoft.carina.core.foundation.api.AbstractApiMethodV2;
+
+/**
+ * Runs existing API method definitions from N virtual users with target request rate and collects latency histogram,
+ * error rate and throughput per API method.
+ * 
+ * <pre>
+ * ApiLoadRunner runner = new ApiLoadRunner(10, 50, 60, TimeUnit.SECONDS);
+ * runner.addMethod(() -&gt; new GetUserMethod());
+ * ApiLoadReport report = runner.run();
+ * </pre>
+ * 
+ * Every virtual user creates new API method instance per call and calls methods registered in runner in round-robin
+ * order. Call is treated as failed if exception is thrown or response status code is not less than 400. Report is
+ * written into the log and into api-load.txt file of the current test when run finishes.
+ */
+public class ApiLoadRunner {
+    private static final Logger LOGGER = Logger.getLogger(ApiLoadRunner.class);
+
+    private final int virtualUsers;
+    private final double targetRate;
+    private final long durationNanos;
+    private final List<Supplier<? extends AbstractApiMethodV2>> methods = new ArrayList<Supplier<? extends AbstractApiMethodV2>>();
+
+    /**
+     * @param virtualUsers number of concurrent virtual users
+     * @param targetRate total calls per second for all users; not positive value means no rate limit
+     * @param duration duration of the run
+     * @param unit duration unit
+     */
+    public ApiLoadRunner(int virtualUsers, double targetRate, long duration, TimeUnit unit) {
+        if (virtualUsers <= 0) {
+            throw new IllegalArgumentException("Number of virtual users should be positive!");
+        }
+        this.virtualUsers = virtualUsers;
+        this.targetRate = targetRate;
+        this.durationNanos = unit.toNanos(duration);
+    }
+
+    public ApiLoadRunner addMethod(Supplier<? extends AbstractApiMethodV2> method) {
+        methods.add(method);
+        return this;
+    }
+
+    public ApiLoadReport run() {
+        if (methods.isEmpty()) {
+            throw new RuntimeException("No API methods registered for load run!");
+        }
+        LOGGER.info(String.format("Starting API load run: %d virtual user(s), target rate %.1f rps, duration %d ms", virtualUsers,
+                targetRate, TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+
+        Map<String, MethodStats> stats = new LinkedHashMap<String, MethodStats>();
+        // pacing: every call takes next free time slot so total rate doesn't exceed the target
+        long intervalNanos = targetRate > 0 ? (long) (1000000000L / targetRate) : 0;
+        long startTime = System.nanoTime();
+        long endTime = startTime + durationNanos;
+        AtomicLong nextSlot = new AtomicLong(startTime);
+        CountDownLatch finished = new CountDownLatch(virtualUsers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        for (int user = 0; user < virtualUsers; user++) {
+            final int userIndex = user;
+            executor.execute(() -> {
+                try {
+                    int iteration = userIndex;
+                    while (!Thread.currentThread().isInterrupted()) {
+                        if (intervalNanos > 0) {
+                            long slot = nextSlot.getAndAdd(intervalNanos);
+                            if (slot >= endTime) {
+                                break;
+                            }
+                            long delay = slot - System.nanoTime();
+                            if (delay > 0) {
+                                LockSupport.parkNanos(delay);
+                            }
+                        } else if (System.nanoTime() >= endTime) {
+                            break;
+                        }
+                        Supplier<? extends AbstractApiMethodV2> supplier = methods.get(iteration++ % methods.size());
+                        call(supplier, stats);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        ApiLoadReport report = new ApiLoadReport(stats, System.nanoTime() - startTime, virtualUsers);
+        report.save();
+        return report;
+    }
+
+    private void call(Supplier<? extends AbstractApiMethodV2> supplier, Map<String, MethodStats> stats) {
+        AbstractApiMethodV2 method = supplier.get();
+        MethodStats methodStats;
+        synchronized (stats) {
+            methodStats = stats.computeIfAbsent(method.getClass().getSimpleName(), k -> new MethodStats());
+        }
+        boolean isFailed = true;
+        long start = System.nanoTime();
+        try {
+            Response response = method.callAPI();
+            isFailed = response == null || response.getStatusCode() >= 400;
+        } catch (Throwable e) {
+            LOGGER.debug("API call failed during load run: " + e.getMessage());
+        } finally {
+            methodStats.registerCall(System.nanoTime() - start, isFailed);
+        }
+    }
+}
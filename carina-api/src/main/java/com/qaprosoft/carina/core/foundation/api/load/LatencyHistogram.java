@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets. Every power of two range of microseconds is split into
+ * linear sub-buckets so relative error of reported percentiles doesn't exceed ~3%.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // covers latencies up to 2^40 microseconds
+    private static final int MAX_SHIFT = 40 - SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + MAX_SHIFT * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registers latency value.
+     * 
+     * @param latency long
+     * @param unit TimeUnit
+     */
+    public void record(long latency, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(latency));
+        buckets.incrementAndGet(getBucketIndex(micros));
+        count.incrementAndGet();
+        sum.addAndGet(micros);
+        min.accumulateAndGet(micros, Math::min);
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMs() {
+        long n = count.get();
+        return n == 0 ? 0 : sum.get() / 1000.0 / n;
+    }
+
+    public double getMinMs() {
+        return count.get() == 0 ? 0 : min.get() / 1000.0;
+    }
+
+    public double getMaxMs() {
+        return max.get() / 1000.0;
+    }
+
+    /**
+     * Returns approximate latency for requested percentile.
+     * 
+     * @param percentile double in range (0, 100]
+     * @return latency in milliseconds
+     */
+    public double getPercentileMs(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), max.get()) / 1000.0;
+            }
+        }
+        return getMaxMs();
+    }
+
+    private static int getBucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (micros >>> shift);
+        int index = SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (top - HALF_SUB_BUCKETS);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long top = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
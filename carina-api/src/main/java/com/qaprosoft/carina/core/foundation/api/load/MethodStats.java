@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe statistics of single API method calls.
+ */
+public class MethodStats {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+
+    void registerCall(long latencyNanos, boolean isFailed) {
+        histogram.record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (isFailed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public long getCalls() {
+        return histogram.getCount();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public double getErrorRate() {
+        long calls = getCalls();
+        return calls == 0 ? 0 : (double) errors.get() / calls;
+    }
+}
@@ -85,4 +85,13 @@ public class JsonSchemaValidatorTest {
         }
         Assert.assertTrue(isErrorThrown, "Assertion Error not thrown");
     }
+
+    @Test
+    public void testSchemaValidatorCached() throws IOException {
+        String schema = IOUtils.toString(JsonSchemaValidatorTest.class.getClassLoader().getResourceAsStream(
+                "validation/schema/schema7/schema7.json"), Charset.forName("UTF-8"));
+
+        Assert.assertSame(JsonValidator.getSchemaValidator(schema), JsonValidator.getSchemaValidator(new String(schema)),
+                "Compiled schema is not reused");
+    }
 }
@@ -248,4 +248,59 @@ public class JsonValidatorTest {
         }
         Assert.assertTrue(isErrorThrown, "Assertion Error not thrown");
     }
+
+    @Test
+    public void testLargeArrayWKeywordsReorderedSuccess() {
+        StringBuilder expectedRs = new StringBuilder("[");
+        StringBuilder actualRs = new StringBuilder("[");
+        int size = 2000;
+        for (int i = 0; i < size; i++) {
+            expectedRs.append(i > 0 ? "," : "").append(String.format("{\"id\":\"regex:^\\\\d+$\", \"name\":\"item%d\", \"tag\":\"skip\"}", i));
+            actualRs.append(i > 0 ? "," : "").append(String.format("{\"id\":%d, \"name\":\"item%d\", \"tag\":\"t%d\"}", i, size - i - 1, i));
+        }
+        expectedRs.append("]");
+        actualRs.append("]");
+
+        JsonValidator.validateJson(expectedRs.toString(), actualRs.toString(), JSONCompareMode.NON_EXTENSIBLE);
+    }
+
+    @Test
+    public void testArrayWNumericEquivalenceSuccess() {
+        String expectedRs = "[{\"id\":1, \"value\":-0.0}, {\"id\":2, \"value\":1.50}, {\"id\":3.0, \"value\":1E2}]";
+        String actualRs = "[{\"id\":3, \"value\":100}, {\"id\":2, \"value\":1.5}, {\"id\":1, \"value\":0}]";
+
+        JsonValidator.validateJson(expectedRs, actualRs, JSONCompareMode.NON_EXTENSIBLE);
+    }
+
+    @Test
+    public void testArrayWItemsMismatchError() {
+        String expectedRs = "[{\"id\":1, \"name\":\"first\"}, {\"id\":2, \"name\":\"second\"}, {\"id\":3, \"name\":\"third\"}]";
+        String actualRs = "[{\"id\":3, \"name\":\"third\"}, {\"id\":2, \"name\":\"other\"}, {\"id\":1, \"name\":\"first\"}]";
+
+        boolean isErrorThrown = false;
+        try {
+            JsonValidator.validateJson(expectedRs, actualRs, JSONCompareMode.NON_EXTENSIBLE);
+        } catch (AssertionError e) {
+            isErrorThrown = true;
+            Assert.assertEquals(normalizeSpace(e.getMessage()), "[1].name Expected: second got: other", "Error message not as expected");
+        }
+        Assert.assertTrue(isErrorThrown, "Assertion Error not thrown");
+    }
+
+    @Test
+    public void testArrayWKeywordsMismatchError() {
+        String expectedRs = "[{\"id\":\"regex:^\\\\d+$\", \"name\":\"first\"}, {\"id\":\"regex:^\\\\d+$\", \"name\":\"second\"}]";
+        String actualRs = "[{\"id\":\"2\", \"name\":\"second\"}, {\"id\":\"one\", \"name\":\"first\"}]";
+
+        boolean isErrorThrown = false;
+        try {
+            JsonValidator.validateJson(expectedRs, actualRs, JSONCompareMode.NON_EXTENSIBLE);
+        } catch (AssertionError e) {
+            isErrorThrown = true;
+            Assert.assertEquals(normalizeSpace(e.getMessage()), "[0].id Actual value 'one' doesn't match to expected regex '^\\d+$'",
+                    "Error message not as expected");
+        }
+        Assert.assertTrue(isErrorThrown, "Assertion Error not thrown");
+    }
+
 }
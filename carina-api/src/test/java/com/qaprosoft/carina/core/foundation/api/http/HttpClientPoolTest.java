@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.http;
+
+import java.io.IOException;
+
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.EncoderConfig;
+import com.jayway.restassured.config.RedirectConfig;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.response.Response;
+import com.qaprosoft.carina.core.foundation.utils.R;
+
+public class HttpClientPoolTest {
+
+    private static final int CALLS = 50;
+
+    private HttpStubServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new HttpStubServer();
+        R.API.put(StubGetMethod.class.getSimpleName(), "GET:${base_url}/stub");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetConfig() {
+        RestAssured.reset();
+    }
+
+    @Test
+    public void testConnectionsAreReused() {
+        int requestsBefore = server.getRequestsCount();
+        int connectionsBefore = server.getConnectionsCount();
+        for (int i = 0; i < CALLS; i++) {
+            StubGetMethod method = new StubGetMethod(server.getUrl());
+            method.expectResponseStatus(HttpResponseStatusType.OK_200);
+            Response rs = method.callAPI();
+            Assert.assertEquals(rs.asString(), HttpStubServer.BODY, "Unexpected response body");
+        }
+
+        Assert.assertEquals(server.getRequestsCount() - requestsBefore, CALLS, "Not all requests reached stub server");
+        Assert.assertTrue(server.getConnectionsCount() - connectionsBefore < CALLS / 10,
+                "Connections are not reused: " + (server.getConnectionsCount() - connectionsBefore) + " for " + CALLS + " calls");
+    }
+
+    @Test
+    public void testClientIsCreatedPerRequest() {
+        AbstractHttpClient first = (AbstractHttpClient) HttpClientPool.getConfig().getHttpClientConfig().httpClientInstance();
+        AbstractHttpClient second = (AbstractHttpClient) HttpClientPool.getConfig().getHttpClientConfig().httpClientInstance();
+        Assert.assertNotSame(first, second, "HTTP client with credentials provider is shared between requests");
+        Assert.assertNotSame(first.getCredentialsProvider(), second.getCredentialsProvider(),
+                "Credentials provider is shared between requests");
+        Assert.assertSame(first.getConnectionManager(), second.getConnectionManager(), "Connection pool is not shared");
+    }
+
+    @Test
+    public void testGlobalConfigIsHonoured() {
+        RestAssured.config = RestAssuredConfig.newConfig()
+                .encoderConfig(EncoderConfig.encoderConfig().defaultContentCharset("ISO-8859-1"))
+                .redirect(RedirectConfig.redirectConfig().maxRedirects(3));
+
+        RestAssuredConfig config = HttpClientPool.getConfig();
+        Assert.assertEquals(config.getEncoderConfig().defaultContentCharset(), "ISO-8859-1", "Global encoder config is ignored");
+        Assert.assertEquals(config.getRedirectConfig().maxRedirects(), 3, "Global redirect config is ignored");
+
+        RestAssuredConfig trustAllConfig = HttpClientPool.getTrustAllConfig();
+        Assert.assertEquals(trustAllConfig.getEncoderConfig().defaultContentCharset(), "ISO-8859-1",
+                "Global encoder config is ignored for trust all config");
+        Assert.assertEquals(trustAllConfig.getRedirectConfig().maxRedirects(), 3, "Global redirect config is ignored for trust all config");
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.api.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.api.http.HttpStubServer;
+import com.qaprosoft.carina.core.foundation.api.http.StubGetMethod;
+import com.qaprosoft.carina.core.foundation.report.ReportContext;
+import com.qaprosoft.carina.core.foundation.utils.R;
+
+public class ApiLoadRunnerTest {
+
+    private HttpStubServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new HttpStubServer();
+        R.API.put(StubGetMethod.class.getSimpleName(), "GET:${base_url}/stub");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testLoadRunWithTargetRate() {
+        int rate = 50;
+        int seconds = 2;
+        ApiLoadReport report = new ApiLoadRunner(4, rate, seconds, TimeUnit.SECONDS)
+                .addMethod(() -> new StubGetMethod(server.getUrl()))
+                .run();
+
+        MethodStats stats = report.getStats(StubGetMethod.class.getSimpleName());
+        Assert.assertNotNull(stats, "Stats for API method are missed");
+        Assert.assertTrue(stats.getCalls() > 0, "No API calls were made");
+        Assert.assertTrue(stats.getCalls() <= rate * seconds, "Target rate is exceeded: " + stats.getCalls());
+        Assert.assertEquals(stats.getErrors(), 0, "Unexpected failed calls");
+        Assert.assertTrue(stats.getHistogram().getPercentileMs(50) <= stats.getHistogram().getMaxMs(), "Invalid latency percentiles");
+        Assert.assertTrue(new File(ReportContext.getTestDir(), "api-load.txt").exists(), "Load report is not saved");
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getPercentileMs(50), 500, 500 * 0.05);
+        Assert.assertEquals(histogram.getPercentileMs(99), 990, 990 * 0.05);
+        Assert.assertEquals(histogram.getMaxMs(), 1000, 0.001);
+    }
+}
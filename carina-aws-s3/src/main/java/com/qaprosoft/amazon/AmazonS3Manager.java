@@ -17,6 +17,14 @@ package com.qaprosoft.amazon;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,31 +33,44 @@ import org.apache.log4j.Logger;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.HttpMethod;
-import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.auth.SystemPropertiesCredentialsProvider;
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
-import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import com.qaprosoft.carina.core.foundation.commons.SpecialKeywords;
 import com.qaprosoft.carina.core.foundation.crypto.CryptoTool;
 import com.qaprosoft.carina.core.foundation.utils.Configuration;
 import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
-import com.qaprosoft.carina.core.foundation.utils.common.CommonUtils;
 
 public class AmazonS3Manager {
     protected static final Logger LOGGER = Logger
             .getLogger(AmazonS3Manager.class);
     private static volatile AmazonS3Manager instance = null;
     private static AmazonS3 s3client = null;
+    private static TransferManager transferManager = null;
+
+    // max number of concurrent part/ranged GET requests per transfer
+    private static final int TRANSFER_THREADS = Math.max(4, Math.min(10, Runtime.getRuntime().availableProcessors() * 2));
+    // max number of listed S3 pages while looking for the latest build artifact
+    private static final int LISTING_PAGES_LIMIT = 100;
+    private static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+
+    // bucket:key:pattern -> latest artifact found during current run
+    private final Map<String, S3ObjectSummary> latestArtifacts = new ConcurrentHashMap<String, S3ObjectSummary>();
 
     private AmazonS3Manager() {
     }
@@ -79,6 +100,46 @@ public class AmazonS3Manager {
         return s3client;
     }
 
+    /**
+     * Get shared TransferManager instance. It is created once per JVM on top of the s3 client and is backed by a
+     * bounded pool of daemon threads, so big artifacts are downloaded using parallel part (ranged) GET requests.
+     * 
+     * @return TransferManager
+     */
+    public TransferManager getTransferManager() {
+        if (transferManager == null) {
+            synchronized (AmazonS3Manager.class) {
+                if (transferManager == null) {
+                    transferManager = TransferManagerBuilder.standard()
+                            .withS3Client(s3client)
+                            .withExecutorFactory(() -> createTransferExecutor())
+                            .withDisableParallelDownloads(false)
+                            .withShutDownThreadPools(true)
+                            .build();
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> transferManager.shutdownNow(false)));
+                }
+            }
+        }
+        return transferManager;
+    }
+
+    private static ExecutorService createTransferExecutor() {
+        ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "s3-transfer-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(TRANSFER_THREADS, TRANSFER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Put any file to Amazon S3 storage.
      * 
@@ -292,40 +353,78 @@ public class AmazonS3Manager {
             throw new RuntimeException("pattern is null!");
         }
 
-        S3ObjectSummary latestBuild = null;
+        String indexKey = bucket + ":" + key + ":" + pattern.pattern();
+        S3ObjectSummary latestBuild = latestArtifacts.get(indexKey);
+        if (latestBuild != null) {
+            LOGGER.info("latest artifact (cached): " + latestBuild.getKey());
+            return latestBuild;
+        }
 
-        ObjectListing objBuilds = s3client.listObjects(bucket, key);
+        // S3 returns keys in lexicographical order so narrow listing to the longest literal prefix of the pattern
+        String prefix = getListingPrefix(key, pattern);
+        LOGGER.debug("Listing S3 artifacts using prefix: " + prefix);
 
+        ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucket).withPrefix(prefix);
+        ListObjectsV2Result objBuilds;
         int i = 0;
-        int limit = 100;
         // by default S3 return only 1000 objects summary so need while cycle here
         do {
             LOGGER.info("looking for s3 artifact using iteration #" + i);
+            objBuilds = s3client.listObjectsV2(request);
 
             for (S3ObjectSummary obj : objBuilds.getObjectSummaries()) {
                 LOGGER.debug("Existing S3 artifact: " + obj.getKey());
                 Matcher matcher = pattern.matcher(obj.getKey());
                 if (matcher.find()) {
-                    if (latestBuild == null) {
-                        latestBuild = obj;
-                    }
-
-                    if (obj.getLastModified().after(latestBuild.getLastModified())) {
+                    if (latestBuild == null || obj.getLastModified().after(latestBuild.getLastModified())) {
                         latestBuild = obj;
                     }
                 }
             }
-            objBuilds = s3client.listNextBatchOfObjects(objBuilds);
-        } while (objBuilds.isTruncated() && ++i < limit);
+            request.setContinuationToken(objBuilds.getNextContinuationToken());
+        } while (objBuilds.isTruncated() && ++i < LISTING_PAGES_LIMIT);
 
         if (latestBuild == null) {
             LOGGER.error("Unable to find S3 build artifact by pattern: " + pattern);
         } else {
             LOGGER.info("latest artifact: " + latestBuild.getKey());
+            latestArtifacts.put(indexKey, latestBuild);
         }
         return latestBuild;
     }
 
+    /**
+     * Calculate the most narrow S3 listing prefix: literal beginning of the pattern if it extends the key, otherwise the
+     * key itself. Pattern is used for narrowing only if it is anchored to the key start ("^"), has no flags (e.g.
+     * CASE_INSENSITIVE) and no alternation as otherwise matched keys may not start with its literal beginning.
+     * 
+     * @param key
+     *            - S3 storage path to your project.
+     * @param pattern
+     *            - pattern to find build artifact.
+     * @return String prefix
+     */
+    protected static String getListingPrefix(String key, Pattern pattern) {
+        String regex = pattern.pattern();
+        if (pattern.flags() != 0 || !regex.startsWith("^") || regex.contains("|")) {
+            return key != null ? key : "";
+        }
+        regex = regex.substring(1);
+        int end = 0;
+        while (end < regex.length() && REGEX_META_CHARS.indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        // quantifier after literal char makes this char optional
+        if (end < regex.length() && end > 0 && "*?{".indexOf(regex.charAt(end)) >= 0) {
+            end--;
+        }
+        String literal = regex.substring(0, end);
+        if (key == null) {
+            return literal;
+        }
+        return literal.startsWith(key) ? literal : key;
+    }
+
     /**
      * Method to download file from s3 to local file system
      * 
@@ -343,30 +442,49 @@ public class AmazonS3Manager {
      * @param bucketName AWS S3 bucket name
      * @param key (example: android/apkFolder/ApkName.apk)
      * @param file (local file name)
-     * @param pollingInterval (polling interval in sec for S3 download status determination)
+     * @param pollingInterval (min interval in sec between S3 download progress messages)
      */
     public void download(final String bucketName, final String key, final File file, long pollingInterval) {
         LOGGER.info("App will be downloaded from s3.");
         LOGGER.info(String.format("[Bucket name: %s] [Key: %s] [File: %s]", bucketName, key, file.getAbsolutePath()));
-        DefaultAWSCredentialsProviderChain credentialProviderChain = new DefaultAWSCredentialsProviderChain();
-        TransferManager tx = new TransferManager(
-                credentialProviderChain.getCredentials());
-        Download appDownload = tx.download(bucketName, key, file);
+        Download appDownload = getTransferManager().download(new GetObjectRequest(bucketName, key), file);
+        appDownload.addProgressListener(new DownloadProgressListener(appDownload, pollingInterval));
         try {
             LOGGER.info("Transfer: " + appDownload.getDescription());
             LOGGER.info("	State: " + appDownload.getState());
             LOGGER.info("	Progress: ");
-            // You can poll your transfer's status to check its progress
-            while (!appDownload.isDone()) {
-                LOGGER.info("		transferred: " + (int) (appDownload.getProgress().getPercentTransferred() + 0.5) + "%");
-                CommonUtils.pause(pollingInterval);
-            }
+            appDownload.waitForCompletion();
             LOGGER.info("	State: " + appDownload.getState());
-            // appDownload.waitForCompletion();
         } catch (AmazonClientException e) {
             throw new RuntimeException("File wasn't downloaded from s3. See log: ".concat(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("File downloading from s3 was interrupted: ".concat(key));
+        }
+    }
+
+    /**
+     * Logs download progress not often than once per provided interval instead of polling transfer status.
+     */
+    private static class DownloadProgressListener implements ProgressListener {
+        private final Download download;
+        private final long intervalMs;
+        private volatile long lastReportTime = 0;
+
+        DownloadProgressListener(Download download, long interval) {
+            this.download = download;
+            this.intervalMs = TimeUnit.SECONDS.toMillis(interval);
+        }
+
+        @Override
+        public void progressChanged(ProgressEvent progressEvent) {
+            long now = System.currentTimeMillis();
+            boolean completed = progressEvent.getEventType() == ProgressEventType.TRANSFER_COMPLETED_EVENT;
+            if (completed || now - lastReportTime >= intervalMs) {
+                lastReportTime = now;
+                LOGGER.info("		transferred: " + (int) (download.getProgress().getPercentTransferred() + 0.5) + "%");
+            }
         }
-        // tx.shutdownNow();
     }
 
     /**
@@ -16,6 +16,7 @@
 package com.qaprosoft.amazon;
 
 import java.net.URL;
+import java.util.regex.Pattern;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -116,4 +117,25 @@ public class AmazonS3ClientTest {
         // TODO: add verification that file is accessible without creds
     }
 
-}
\ No newline at end of file
+    @Test()
+    public void testListingPrefix() {
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("^android/develop/build-1.*/app.apk")), "android/develop/build-1");
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("^android/develop/builds*/app.apk")), "android/develop/build");
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("^.*prod-google-release.*")), "android/develop");
+    }
+
+    @Test()
+    public void testListingPrefixIsNotNarrowed() {
+        // unanchored pattern can be found in the middle of the key
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("android/develop/build-1.*/app.apk")), "android/develop");
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("^android/develop/Build-1.*/app.apk", Pattern.CASE_INSENSITIVE)), "android/develop");
+        Assert.assertEquals(AmazonS3Manager.getListingPrefix("android/develop",
+                Pattern.compile("^android/develop/build-1.*|^android/develop/hotfix.*")), "android/develop");
+    }
+
+}
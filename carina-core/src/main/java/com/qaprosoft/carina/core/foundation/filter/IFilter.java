@@ -3,6 +3,7 @@ package com.qaprosoft.carina.core.foundation.filter;
 import org.testng.ITestNGMethod;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * in config.properties
@@ -14,4 +15,14 @@ public interface IFilter {
 
     public boolean isPerform(ITestNGMethod testMethod, List<String> expectedData);
 
+    /**
+     * Prepares filter for the expected data once so it can be evaluated for many test methods.
+     *
+     * @param expectedData rule values
+     * @return predicate which returns true if test method should be performed
+     */
+    public default Predicate<ITestNGMethod> compile(List<String> expectedData) {
+        return testMethod -> isPerform(testMethod, expectedData);
+    }
+
 }
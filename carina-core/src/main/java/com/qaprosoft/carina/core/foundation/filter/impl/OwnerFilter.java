@@ -1,11 +1,16 @@
 package com.qaprosoft.carina.core.foundation.filter.impl;
 
 import com.qaprosoft.carina.core.foundation.filter.IFilter;
-import com.qaprosoft.carina.core.foundation.utils.ownership.MethodOwner;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadata;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 import org.apache.log4j.Logger;
 import org.testng.ITestNGMethod;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class OwnerFilter implements IFilter {
 
@@ -13,16 +18,26 @@ public class OwnerFilter implements IFilter {
 
     @Override
     public boolean isPerform(ITestNGMethod testMethod, List<String> expectedData) {
+        return compile(expectedData).test(testMethod);
+    }
 
-        MethodOwner ownerAnnotation = testMethod.getConstructorOrMethod().getMethod().getAnnotation(MethodOwner.class);
-        if (ownerAnnotation != null) {
-            String owner = ownerAnnotation.owner();
-            String secondOwner = ownerAnnotation.secondaryOwner();
-            LOGGER.info(String.format("Test: [%s]. Owner: [%s]. Second owner: [%s] Expected owner: [%s]", testMethod.getMethodName(), owner,
-                    secondOwner, expectedData.toString()));
-            return expectedData.parallelStream().anyMatch(d -> d.equalsIgnoreCase(owner) || d.equalsIgnoreCase(secondOwner));
+    @Override
+    public Predicate<ITestNGMethod> compile(List<String> expectedData) {
+        Set<String> expectedOwners = new HashSet<>();
+        for (String expected : expectedData) {
+            expectedOwners.add(expected.toLowerCase(Locale.ROOT));
         }
-        return false;
+        return testMethod -> {
+            TestMethodMetadata metadata = TestMethodMetadataIndex.get(testMethod);
+            String owner = metadata.getOwner();
+            if (owner != null) {
+                String secondOwner = metadata.getSecondaryOwner();
+                LOGGER.debug(String.format("Test: [%s]. Owner: [%s]. Second owner: [%s] Expected owner: [%s]", testMethod.getMethodName(), owner,
+                        secondOwner, expectedData.toString()));
+                return expectedOwners.contains(owner.toLowerCase(Locale.ROOT)) || expectedOwners.contains(secondOwner.toLowerCase(Locale.ROOT));
+            }
+            return false;
+        };
     }
 
 }
@@ -1,12 +1,14 @@
 package com.qaprosoft.carina.core.foundation.filter.impl;
 
 import com.qaprosoft.carina.core.foundation.filter.IFilter;
-import com.qaprosoft.carina.core.foundation.utils.tag.Priority;
-import com.qaprosoft.carina.core.foundation.utils.tag.TestPriority;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 import org.apache.log4j.Logger;
 import org.testng.ITestNGMethod;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class PriorityFilter implements IFilter {
 
@@ -14,15 +16,21 @@ public class PriorityFilter implements IFilter {
 
     @Override
     public boolean isPerform(ITestNGMethod testMethod, List<String> expectedData) {
-        TestPriority priority = testMethod.getConstructorOrMethod().getMethod().getAnnotation(TestPriority.class);
-        if (priority != null) {
-            Priority testPriority = priority.value();
-            String actualTestPriority = testPriority.toString();
-            LOGGER.info(String.format("Test: [%s]. Priority: [%s]. Expected priority: [%s]", testMethod.getMethodName(), actualTestPriority,
-                    expectedData.toString()));
-            return expectedData.parallelStream().anyMatch(d -> d.equals(actualTestPriority));
-        }
-        return false;
+        return compile(expectedData).test(testMethod);
+    }
+
+    @Override
+    public Predicate<ITestNGMethod> compile(List<String> expectedData) {
+        Set<String> expectedPriorities = new HashSet<>(expectedData);
+        return testMethod -> {
+            String actualTestPriority = TestMethodMetadataIndex.get(testMethod).getPriority();
+            if (actualTestPriority != null) {
+                LOGGER.debug(String.format("Test: [%s]. Priority: [%s]. Expected priority: [%s]", testMethod.getMethodName(), actualTestPriority,
+                        expectedData.toString()));
+                return expectedPriorities.contains(actualTestPriority);
+            }
+            return false;
+        };
     }
 
 }
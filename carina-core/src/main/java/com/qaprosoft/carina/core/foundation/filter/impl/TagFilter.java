@@ -1,11 +1,15 @@
 package com.qaprosoft.carina.core.foundation.filter.impl;
 
 import com.qaprosoft.carina.core.foundation.filter.IFilter;
-import com.qaprosoft.carina.core.foundation.utils.tag.TestTag;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 import org.apache.log4j.Logger;
 import org.testng.ITestNGMethod;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class TagFilter implements IFilter {
 
@@ -13,37 +17,26 @@ public class TagFilter implements IFilter {
 
     @Override
     public boolean isPerform(ITestNGMethod testMethod, List<String> expectedData) {
-        String tagName;
-        String tagValue;
-
-        if (testMethod != null) {
-            if (testMethod.getConstructorOrMethod().getMethod().isAnnotationPresent(TestTag.class)) {
-                TestTag methodAnnotation = testMethod.getConstructorOrMethod().getMethod().getAnnotation(TestTag.class);
-
-                if (methodAnnotation != null) {
-                    tagName = methodAnnotation.name();
-                    tagValue = methodAnnotation.value();
-                    String tag = tagName + "=" + tagValue;
-                    LOGGER.info(String.format("Test: [%s]. Tag: [%s]. Expected tag: [%s]", testMethod.getMethodName(), tag, expectedData.toString()));
-                    return expectedData.parallelStream().anyMatch(d -> d.equalsIgnoreCase(tag));
-                }
-            }
+        return compile(expectedData).test(testMethod);
+    }
 
-            if (testMethod.getConstructorOrMethod().getMethod().isAnnotationPresent(TestTag.List.class)) {
-                TestTag.List methodAnnotation = testMethod.getConstructorOrMethod().getMethod().getAnnotation(TestTag.List.class);
-                for (TestTag tagLocal : methodAnnotation.value()) {
-                    if (tagLocal != null) {
-                        tagName = tagLocal.name();
-                        tagValue = tagLocal.value();
-                        String tag = tagName + "=" + tagValue;
-                        LOGGER.info(
-                                String.format("Test: [%s]. Tag: [%s]. Expected tag: [%s]", testMethod.getMethodName(), tag, expectedData.toString()));
-                        return expectedData.parallelStream().anyMatch(d -> d.equalsIgnoreCase(tag));
+    @Override
+    public Predicate<ITestNGMethod> compile(List<String> expectedData) {
+        Set<String> expectedTags = new HashSet<>();
+        for (String expected : expectedData) {
+            expectedTags.add(expected.toLowerCase(Locale.ROOT));
+        }
+        return testMethod -> {
+            if (testMethod != null) {
+                for (String tag : TestMethodMetadataIndex.get(testMethod).getTagPairs()) {
+                    LOGGER.debug(String.format("Test: [%s]. Tag: [%s]. Expected tag: [%s]", testMethod.getMethodName(), tag, expectedData.toString()));
+                    if (expectedTags.contains(tag.toLowerCase(Locale.ROOT))) {
+                        return true;
                     }
                 }
             }
-        }
-        return false;
+            return false;
+        };
     }
 
 }
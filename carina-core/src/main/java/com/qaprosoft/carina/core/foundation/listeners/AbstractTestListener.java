@@ -214,7 +214,8 @@ public class AbstractTestListener extends TestListenerAdapter implements IDriver
         Device device = IDriverPool.getDefaultDevice();
         if (!device.isNull()) {
             LOGGER.debug("Device isn't null additional artifacts will be extracted.");
-            File sysLogFile = device.saveSysLog();
+            long endTime = result.getEndMillis() > 0 ? result.getEndMillis() : System.currentTimeMillis();
+            File sysLogFile = device.saveSysLog(result.getStartMillis(), endTime);
             if (sysLogFile != null) {
                 LOGGER.debug("Logcat log will be extracted and added as artifact");
                 Artifacts.add("Logcat", ReportContext.getSysLogLink(test));
@@ -24,14 +24,11 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Category;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
-import org.apache.log4j.PropertyConfigurator;
 import org.testng.Assert;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
@@ -47,7 +44,6 @@ import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
 
 import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.qaprosoft.amazon.AmazonS3Manager;
 import com.qaprosoft.carina.browsermobproxy.ProxyPool;
 import com.qaprosoft.carina.core.foundation.commons.SpecialKeywords;
@@ -67,16 +63,12 @@ import com.qaprosoft.carina.core.foundation.utils.Messager;
 import com.qaprosoft.carina.core.foundation.utils.R;
 import com.qaprosoft.carina.core.foundation.utils.metadata.MetadataCollector;
 import com.qaprosoft.carina.core.foundation.utils.metadata.model.ElementsInfo;
-import com.qaprosoft.carina.core.foundation.utils.resources.I18N;
-import com.qaprosoft.carina.core.foundation.utils.resources.L10N;
-import com.qaprosoft.carina.core.foundation.utils.resources.L10Nparser;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 import com.qaprosoft.carina.core.foundation.webdriver.CarinaDriver;
 import com.qaprosoft.carina.core.foundation.webdriver.IDriverPool;
 import com.qaprosoft.carina.core.foundation.webdriver.TestPhase;
 import com.qaprosoft.carina.core.foundation.webdriver.TestPhase.Phase;
-import com.qaprosoft.carina.core.foundation.webdriver.core.capability.CapabilitiesLoader;
 import com.qaprosoft.carina.core.foundation.webdriver.device.Device;
-import com.qaprosoft.hockeyapp.HockeyAppManager;
 
 /*
  * CarinaListener - base carin-core TestNG Listener.
@@ -97,38 +89,9 @@ public class CarinaListener extends AbstractTestListener implements ISuiteListen
         try {
             // Add shutdown hook
             Runtime.getRuntime().addShutdownHook(new ShutdownHook());
-            // Set log4j properties
-            PropertyConfigurator.configure(ClassLoader.getSystemResource("log4j.properties"));
 
-            LOGGER.info(Configuration.asString());
-            // Configuration.validateConfiguration();
-
-            try {
-                L10N.init();
-            } catch (Exception e) {
-                LOGGER.error("L10N bundle is not initialized successfully!", e);
-            }
-
-            try {
-                I18N.init();
-            } catch (Exception e) {
-                LOGGER.error("I18N bundle is not initialized successfully!", e);
-            }
-
-            try {
-                L10Nparser.init();
-            } catch (Exception e) {
-                LOGGER.error("L10Nparser bundle is not initialized successfully!", e);
-            }
-
-            // declare global capabilities in configuration if custom_capabilities is declared 
-            String customCapabilities = Configuration.get(Parameter.CUSTOM_CAPABILITIES);
-            if (!customCapabilities.isEmpty()) {
-                // redefine core CONFIG properties using global custom capabilities file
-                new CapabilitiesLoader().loadCapabilities(customCapabilities);
-            }
-
-            updateAppPath();
+            // Initialize log4j, L10N/I18N bundles and application path
+            CarinaStartup.init();
 
         } catch (Exception e) {
             LOGGER.error("Undefined failure during static carina listener init!", e);
@@ -200,6 +163,9 @@ public class CarinaListener extends AbstractTestListener implements ISuiteListen
         LOGGER.debug("Default data_provider_thread_count=" + suite.getXmlSuite().getDataProviderThreadCount());
         LOGGER.debug("Updated data_provider_thread_count=" + suite.getXmlSuite().getDataProviderThreadCount());
 
+        // resolve tags, priority and owners of all test methods once per suite
+        TestMethodMetadataIndex.index(suite.getAllMethods());
+
         onHealthCheck(suite);
     }
 
@@ -548,125 +514,6 @@ public class CarinaListener extends AbstractTestListener implements ISuiteListen
         return getS3Artifact(Configuration.get(Parameter.S3_BUCKET_NAME), key);
     }
 
-    private static void updateAppPath() {
-
-        try {
-            if (!Configuration.get(Parameter.ACCESS_KEY_ID).isEmpty()) {
-                updateS3AppPath();
-            }
-        } catch (Exception e) {
-            LOGGER.error("AWS S3 manager exception detected!", e);
-        }
-
-        try {
-            if (!Configuration.get(Parameter.HOCKEYAPP_TOKEN).isEmpty()) {
-                updateHockeyAppPath();
-            }
-        } catch (Exception e) {
-            LOGGER.error("HockeyApp manager exception detected!", e);
-        }
-
-    }
-
-    /**
-     * Method to update MOBILE_APP path in case if apk is located in Hockey App.
-     */
-    private static void updateHockeyAppPath() {
-        // hockeyapp://appName/platformName/buildType/version
-        Pattern HOCKEYAPP_PATTERN = Pattern.compile(
-                "hockeyapp:\\/\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)");
-        String mobileAppPath = Configuration.getMobileApp();
-        Matcher matcher = HOCKEYAPP_PATTERN.matcher(mobileAppPath);
-
-        LOGGER.info("Analyzing if mobile_app is located on HockeyApp...");
-        if (matcher.find()) {
-            LOGGER.info("app artifact is located on HockeyApp...");
-            String appName = matcher.group(1);
-            String platformName = matcher.group(2);
-            String buildType = matcher.group(3);
-            String version = matcher.group(4);
-
-            String hockeyAppLocalStorage = Configuration.get(Parameter.HOCKEYAPP_LOCAL_STORAGE);
-            // download file from HockeyApp to local storage
-
-            File file = HockeyAppManager.getInstance().getBuild(hockeyAppLocalStorage, appName, platformName, buildType,
-                    version);
-
-            Configuration.setMobileApp(file.getAbsolutePath());
-
-            LOGGER.info("Updated mobile app: " + Configuration.getMobileApp());
-
-            // try to redefine app_version if it's value is latest or empty
-            String appVersion = Configuration.get(Parameter.APP_VERSION);
-            if (appVersion.equals("latest") || appVersion.isEmpty()) {
-                R.CONFIG.put(Parameter.APP_VERSION.getKey(), file.getName());
-            }
-        }
-
-    }
-
-    /**
-     * Method to update MOBILE_APP path in case if apk is located in s3 bucket.
-     */
-    private static void updateS3AppPath() {
-        Pattern S3_BUCKET_PATTERN = Pattern.compile("s3:\\/\\/([a-zA-Z-0-9][^\\/]*)\\/(.*)");
-        // get app path to be sure that we need(do not need) to download app
-        // from s3 bucket
-        String mobileAppPath = Configuration.getMobileApp();
-        Matcher matcher = S3_BUCKET_PATTERN.matcher(mobileAppPath);
-
-        LOGGER.info("Analyzing if mobile app is located on S3...");
-        if (matcher.find()) {
-            LOGGER.info("app artifact is located on s3...");
-            String bucketName = matcher.group(1);
-            String key = matcher.group(2);
-            Pattern pattern = Pattern.compile(key);
-
-            // analyze if we have any pattern inside mobile_app to make extra
-            // search in AWS
-            int position = key.indexOf(".*");
-            if (position > 0) {
-                // /android/develop/dfgdfg.*/Mapmyrun.apk
-                int slashPosition = key.substring(0, position).lastIndexOf("/");
-                if (slashPosition > 0) {
-                    key = key.substring(0, slashPosition);
-                    S3ObjectSummary lastBuild = AmazonS3Manager.getInstance().getLatestBuildArtifact(bucketName, key,
-                            pattern);
-                    key = lastBuild.getKey();
-                }
-
-            }
-
-            S3Object objBuild = AmazonS3Manager.getInstance().get(bucketName, key);
-
-            String s3LocalStorage = Configuration.get(Parameter.S3_LOCAL_STORAGE);
-
-            // download file from AWS to local storage
-
-            String fileName = s3LocalStorage + "/" + StringUtils.substringAfterLast(objBuild.getKey(), "/");
-            File file = new File(fileName);
-
-            // verify maybe requested artifact with the same size was already
-            // download
-            if (file.exists() && file.length() == objBuild.getObjectMetadata().getContentLength()) {
-                LOGGER.info("build artifact with the same size already downloaded: " + file.getAbsolutePath());
-            } else {
-                LOGGER.info(String.format("Following data was extracted: bucket: %s, key: %s, local file: %s",
-                        bucketName, key, file.getAbsolutePath()));
-                AmazonS3Manager.getInstance().download(bucketName, key, new File(fileName));
-            }
-
-            Configuration.setMobileApp(file.getAbsolutePath());
-
-            // try to redefine app_version if it's value is latest or empty
-            String appVersion = Configuration.get(Parameter.APP_VERSION);
-            if (appVersion.equals("latest") || appVersion.isEmpty()) {
-                R.CONFIG.put(Parameter.APP_VERSION.getKey(), file.getName());
-            }
-
-        }
-    }
-
     protected void skipExecution(String message) {
         throw new SkipException(SpecialKeywords.SKIP_EXECUTION + ": " + message);
     }
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.listeners;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PropertyConfigurator;
+
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.qaprosoft.amazon.AmazonS3Manager;
+import com.qaprosoft.carina.core.foundation.utils.Configuration;
+import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
+import com.qaprosoft.carina.core.foundation.utils.ConfigurationSnapshot;
+import com.qaprosoft.carina.core.foundation.utils.R;
+import com.qaprosoft.carina.core.foundation.utils.resources.I18N;
+import com.qaprosoft.carina.core.foundation.utils.resources.L10N;
+import com.qaprosoft.carina.core.foundation.utils.resources.L10Nparser;
+import com.qaprosoft.carina.core.foundation.webdriver.core.capability.CapabilitiesLoader;
+import com.qaprosoft.hockeyapp.HockeyAppManager;
+
+/**
+ * CarinaStartup - one time initialization executed by {@link CarinaListener}. Steps are executed by
+ * {@link StartupOrchestrator} on worker threads, so they are kept outside of CarinaListener: worker thread can't call
+ * CarinaListener static methods while its static initializer is waiting for the steps.
+ */
+final class CarinaStartup {
+    private static final Logger LOGGER = Logger.getLogger(CarinaStartup.class);
+
+    private CarinaStartup() {
+    }
+
+    static void init() {
+        // independent steps are executed concurrently, e.g. L10N resources are loaded during application download
+        new StartupOrchestrator()
+                .addStep("log4j", "Unable to configure log4j!", CarinaStartup::configureLog4j)
+                .addStep("capabilities", "Custom capabilities are not loaded successfully!", CarinaStartup::loadCustomCapabilities, "log4j")
+                .addStep("L10N", "L10N bundle is not initialized successfully!", L10N::init, "capabilities")
+                .addStep("I18N", "I18N bundle is not initialized successfully!", I18N::init, "capabilities")
+                .addStep("L10Nparser", "L10Nparser bundle is not initialized successfully!", L10Nparser::init, "L10N")
+                .addStep("appPath", "Application path is not updated successfully!", CarinaStartup::updateAppPath, "capabilities")
+                .addStep("configuration", "Configuration snapshot is not built successfully!", ConfigurationSnapshot::refresh, "appPath")
+                .run();
+    }
+
+    private static void configureLog4j() {
+        // Set log4j properties
+        PropertyConfigurator.configure(ClassLoader.getSystemResource("log4j.properties"));
+        LOGGER.info(Configuration.asString());
+        // Configuration.validateConfiguration();
+    }
+
+    private static void loadCustomCapabilities() {
+        // declare global capabilities in configuration if custom_capabilities is declared
+        String customCapabilities = Configuration.get(Parameter.CUSTOM_CAPABILITIES);
+        if (!customCapabilities.isEmpty()) {
+            // redefine core CONFIG properties using global custom capabilities file
+            new CapabilitiesLoader().loadCapabilities(customCapabilities);
+        }
+    }
+
+    private static void updateAppPath() {
+
+        try {
+            if (!Configuration.get(Parameter.ACCESS_KEY_ID).isEmpty()) {
+                updateS3AppPath();
+            }
+        } catch (Exception e) {
+            LOGGER.error("AWS S3 manager exception detected!", e);
+        }
+
+        try {
+            if (!Configuration.get(Parameter.HOCKEYAPP_TOKEN).isEmpty()) {
+                updateHockeyAppPath();
+            }
+        } catch (Exception e) {
+            LOGGER.error("HockeyApp manager exception detected!", e);
+        }
+
+    }
+
+    /**
+     * Method to update MOBILE_APP path in case if apk is located in Hockey App.
+     */
+    private static void updateHockeyAppPath() {
+        // hockeyapp://appName/platformName/buildType/version
+        Pattern HOCKEYAPP_PATTERN = Pattern.compile(
+                "hockeyapp:\\/\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)\\/([a-zA-Z-0-9][^\\/]*)");
+        String mobileAppPath = Configuration.getMobileApp();
+        Matcher matcher = HOCKEYAPP_PATTERN.matcher(mobileAppPath);
+
+        LOGGER.info("Analyzing if mobile_app is located on HockeyApp...");
+        if (matcher.find()) {
+            LOGGER.info("app artifact is located on HockeyApp...");
+            String appName = matcher.group(1);
+            String platformName = matcher.group(2);
+            String buildType = matcher.group(3);
+            String version = matcher.group(4);
+
+            String hockeyAppLocalStorage = Configuration.get(Parameter.HOCKEYAPP_LOCAL_STORAGE);
+            // download file from HockeyApp to local storage
+
+            File file = HockeyAppManager.getInstance().getBuild(hockeyAppLocalStorage, appName, platformName, buildType,
+                    version);
+
+            Configuration.setMobileApp(file.getAbsolutePath());
+
+            LOGGER.info("Updated mobile app: " + Configuration.getMobileApp());
+
+            // try to redefine app_version if it's value is latest or empty
+            String appVersion = Configuration.get(Parameter.APP_VERSION);
+            if (appVersion.equals("latest") || appVersion.isEmpty()) {
+                R.CONFIG.put(Parameter.APP_VERSION.getKey(), file.getName());
+            }
+        }
+
+    }
+
+    /**
+     * Method to update MOBILE_APP path in case if apk is located in s3 bucket.
+     */
+    private static void updateS3AppPath() {
+        Pattern S3_BUCKET_PATTERN = Pattern.compile("s3:\\/\\/([a-zA-Z-0-9][^\\/]*)\\/(.*)");
+        // get app path to be sure that we need(do not need) to download app
+        // from s3 bucket
+        String mobileAppPath = Configuration.getMobileApp();
+        Matcher matcher = S3_BUCKET_PATTERN.matcher(mobileAppPath);
+
+        LOGGER.info("Analyzing if mobile app is located on S3...");
+        if (matcher.find()) {
+            LOGGER.info("app artifact is located on s3...");
+            String bucketName = matcher.group(1);
+            String key = matcher.group(2);
+            Pattern pattern = Pattern.compile(key);
+
+            // analyze if we have any pattern inside mobile_app to make extra
+            // search in AWS
+            int position = key.indexOf(".*");
+            if (position > 0) {
+                // /android/develop/dfgdfg.*/Mapmyrun.apk
+                int slashPosition = key.substring(0, position).lastIndexOf("/");
+                if (slashPosition > 0) {
+                    key = key.substring(0, slashPosition);
+                    S3ObjectSummary lastBuild = AmazonS3Manager.getInstance().getLatestBuildArtifact(bucketName, key,
+                            pattern);
+                    key = lastBuild.getKey();
+                }
+
+            }
+
+            S3Object objBuild = AmazonS3Manager.getInstance().get(bucketName, key);
+
+            String s3LocalStorage = Configuration.get(Parameter.S3_LOCAL_STORAGE);
+
+            // download file from AWS to local storage
+
+            String fileName = s3LocalStorage + "/" + StringUtils.substringAfterLast(objBuild.getKey(), "/");
+            File file = new File(fileName);
+
+            // verify maybe requested artifact with the same size was already
+            // download
+            if (file.exists() && file.length() == objBuild.getObjectMetadata().getContentLength()) {
+                LOGGER.info("build artifact with the same size already downloaded: " + file.getAbsolutePath());
+            } else {
+                LOGGER.info(String.format("Following data was extracted: bucket: %s, key: %s, local file: %s",
+                        bucketName, key, file.getAbsolutePath()));
+                AmazonS3Manager.getInstance().download(bucketName, key, new File(fileName));
+            }
+
+            Configuration.setMobileApp(file.getAbsolutePath());
+
+            // try to redefine app_version if it's value is latest or empty
+            String appVersion = Configuration.get(Parameter.APP_VERSION);
+            if (appVersion.equals("latest") || appVersion.isEmpty()) {
+                R.CONFIG.put(Parameter.APP_VERSION.getKey(), file.getName());
+            }
+
+        }
+    }
+}
@@ -10,9 +10,14 @@ import org.testng.ISuite;
 import org.testng.ISuiteListener;
 import org.testng.ITestNGMethod;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public class FilterTestsListener implements ISuiteListener {
 
@@ -30,23 +35,29 @@ public class FilterTestsListener implements ISuiteListener {
             return;
         }
 
-        boolean isPerform;
         LOGGER.info("Extracted rules: ".concat(rules.toString()));
-        for (ITestNGMethod testMethod : suite.getAllMethods()) {
-            isPerform = true;
-            // multiple conditions
-            for (Rule rule : rules) {
-                // condition when test doesn't satisfy at least one filter
-                if (!isPerform) {
-                    break;
+        Predicate<ITestNGMethod> predicate = compileRules(rules);
+
+        // decisions are made once per java method as the same method can be shared by several tests
+        Map<Method, Boolean> decisions = new HashMap<>();
+        int disabled = 0;
+        Collection<ITestNGMethod> methods = suite.getAllMethods();
+        for (ITestNGMethod testMethod : methods) {
+            Method method = testMethod.getConstructorOrMethod().getMethod();
+            Boolean isPerform = method != null ? decisions.get(method) : null;
+            if (isPerform == null) {
+                isPerform = predicate.test(testMethod);
+                if (method != null) {
+                    decisions.put(method, isPerform);
                 }
-                isPerform = rule.getTestFilter().isPerform(testMethod, rule.getRuleValues());
             }
             // condition when test should be disabled
             if (!isPerform) {
                 disableTest(testMethod);
+                disabled++;
             }
         }
+        LOGGER.info(String.format("%d of %d tests are disabled by rules", disabled, methods.size()));
     }
 
     @Override
@@ -64,6 +75,21 @@ public class FilterTestsListener implements ISuiteListener {
         testMethod.setInvocationCount(0);
     }
 
+    /**
+     * Method to build single predicate for all rules: test should satisfy every rule
+     * 
+     * @param rules list of rules
+     * @return predicate
+     */
+    private Predicate<ITestNGMethod> compileRules(List<Rule> rules) {
+        Predicate<ITestNGMethod> predicate = null;
+        for (Rule rule : rules) {
+            Predicate<ITestNGMethod> rulePredicate = rule.getTestFilter().compile(rule.getRuleValues());
+            predicate = predicate == null ? rulePredicate : predicate.and(rulePredicate);
+        }
+        return predicate;
+    }
+
     /**
      * 
      * Method that is responsible for rules and filters parsing
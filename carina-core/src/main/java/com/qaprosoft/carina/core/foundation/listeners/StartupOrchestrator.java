@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.listeners;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+/**
+ * StartupOrchestrator - runs initialization steps as a dependency graph. Step starts as soon as all its dependencies are
+ * finished so independent steps are executed concurrently. Step failure is logged and doesn't prevent dependent steps
+ * from execution, the same as sequential initialization did.
+ */
+public class StartupOrchestrator {
+    private static final Logger LOGGER = Logger.getLogger(StartupOrchestrator.class);
+
+    private static final int MAX_THREADS = 4;
+
+    private final Map<String, Step> steps = new LinkedHashMap<String, Step>();
+
+    /**
+     * Registers step. Dependencies should be registered before so graph can't contain cycles.
+     * 
+     * @param name step name
+     * @param errorMessage message to log in case of failure
+     * @param action step action
+     * @param dependencies names of steps which should be finished before
+     * @return StartupOrchestrator
+     */
+    public StartupOrchestrator addStep(String name, String errorMessage, Runnable action, String... dependencies) {
+        if (steps.containsKey(name)) {
+            throw new RuntimeException("Startup step '" + name + "' is already registered!");
+        }
+        for (String dependency : dependencies) {
+            if (!steps.containsKey(dependency)) {
+                throw new RuntimeException("Startup step '" + name + "' depends on unknown step '" + dependency + "'!");
+            }
+        }
+        steps.put(name, new Step(name, errorMessage, action, dependencies));
+        return this;
+    }
+
+    /**
+     * Runs all steps and waits for their completion.
+     */
+    public void run() {
+        long start = System.currentTimeMillis();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_THREADS, Math.max(1, steps.size())), r -> {
+            Thread thread = new Thread(r, "carina-startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<String, CompletableFuture<Void>>();
+            for (Step step : steps.values()) {
+                CompletableFuture<?>[] dependencies = new CompletableFuture<?>[step.dependencies.length];
+                for (int i = 0; i < dependencies.length; i++) {
+                    dependencies[i] = futures.get(step.dependencies[i]);
+                }
+                futures.put(step.name, CompletableFuture.allOf(dependencies).thenRunAsync(step, executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+        } finally {
+            executor.shutdown();
+        }
+        LOGGER.info(String.format("Carina startup finished in %d ms.", System.currentTimeMillis() - start));
+    }
+
+    private static class Step implements Runnable {
+        private final String name;
+        private final String errorMessage;
+        private final Runnable action;
+        private final String[] dependencies;
+
+        private Step(String name, String errorMessage, Runnable action, String[] dependencies) {
+            this.name = name;
+            this.errorMessage = errorMessage;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public void run() {
+            long start = System.currentTimeMillis();
+            try {
+                action.run();
+            } catch (Throwable e) {
+                LOGGER.error(errorMessage, e);
+            }
+            LOGGER.info(String.format("Startup step '%s' finished in %d ms.", name, System.currentTimeMillis() - start));
+        }
+    }
+
+}
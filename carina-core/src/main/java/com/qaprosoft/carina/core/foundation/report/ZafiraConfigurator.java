@@ -30,7 +30,7 @@ import com.qaprosoft.carina.core.foundation.performance.Timer;
 import com.qaprosoft.carina.core.foundation.report.qtest.IQTestManager;
 import com.qaprosoft.carina.core.foundation.report.testrail.ITestRailManager;
 import com.qaprosoft.carina.core.foundation.retry.RetryCounter;
-import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
+import com.qaprosoft.carina.core.foundation.utils.ConfigurationSnapshot;
 import com.qaprosoft.carina.core.foundation.utils.R;
 import com.qaprosoft.carina.core.foundation.utils.naming.TestNamingUtil;
 import com.qaprosoft.carina.core.foundation.utils.ownership.Ownership;
@@ -56,8 +56,8 @@ public class ZafiraConfigurator implements IConfigurator, ITestRailManager, IQTe
     @Override
     public ConfigurationType getConfiguration() {
         ConfigurationType conf = new ConfigurationType();
-        for (Parameter parameter : Parameter.values()) {
-            conf.getArg().add(buildArgumentType(parameter.getKey(), R.CONFIG.get(parameter.getKey())));
+        for (Map.Entry<String, String> parameter : ConfigurationSnapshot.get().getParameters().entrySet()) {
+            conf.getArg().add(buildArgumentType(parameter.getKey(), parameter.getValue()));
         }
 
         if (R.CONFIG.containsKey(SpecialKeywords.ACTUAL_BROWSER_VERSION)) {
@@ -19,12 +19,15 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestNGMethod;
 
 import com.qaprosoft.carina.core.foundation.rule.IRule;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 
 public class ExpectedSkipManager {
 
@@ -32,6 +35,9 @@ public class ExpectedSkipManager {
 
     private static ExpectedSkipManager instance = null;
 
+    // rules of dependent methods are resolved once per method name
+    private static final Map<String, List<Class<? extends IRule>>> DEPENDENT_METHODS_RULES = new ConcurrentHashMap<>();
+
     private ExpectedSkipManager() {
     };
 
@@ -81,7 +87,7 @@ public class ExpectedSkipManager {
         List<Class<? extends IRule>> rules = new ArrayList<>();
         // collect rules from current class and method
         ExpectedSkip classSkipAnnotation = testMethod.getDeclaringClass().getAnnotation(ExpectedSkip.class);
-        ExpectedSkip methodSkipAnnotation = testMethod.getAnnotation(ExpectedSkip.class);
+        ExpectedSkip methodSkipAnnotation = TestMethodMetadataIndex.get(testMethod).getAnnotation(ExpectedSkip.class);
         rules.addAll(getRulesFromAnnotation(classSkipAnnotation));
         rules.addAll(getRulesFromAnnotation(methodSkipAnnotation));
 
@@ -91,7 +97,7 @@ public class ExpectedSkipManager {
             if (iTestNGMethod.getMethodName().equalsIgnoreCase(testMethod.getName())) {
                 String[] methodsDep = iTestNGMethod.getMethodsDependedUpon();
                 for (String method : methodsDep) {
-                    rules.addAll(getDependentMethodsRules(method));
+                    rules.addAll(DEPENDENT_METHODS_RULES.computeIfAbsent(method, this::getDependentMethodsRules));
                 }
             }
         }
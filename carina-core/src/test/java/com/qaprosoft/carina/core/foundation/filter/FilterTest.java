@@ -0,0 +1,73 @@
+package com.qaprosoft.carina.core.foundation.filter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.testng.Assert;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import com.qaprosoft.carina.core.foundation.utils.ownership.MethodOwner;
+import com.qaprosoft.carina.core.foundation.utils.tag.Priority;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestPriority;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestTag;
+
+public class FilterTest {
+
+    @Test
+    public void testPriorityFilter() throws NoSuchMethodException {
+        Predicate<ITestNGMethod> predicate = Filter.PRIORITY.getFilter().compile(Arrays.asList("P0", "P1"));
+        Assert.assertTrue(predicate.test(getTestMethod("annotated")));
+        Assert.assertFalse(predicate.test(getTestMethod("plain")));
+        Assert.assertFalse(Filter.PRIORITY.getFilter().isPerform(getTestMethod("annotated"), Arrays.asList("P2")));
+    }
+
+    @Test
+    public void testOwnerFilter() throws NoSuchMethodException {
+        Assert.assertTrue(Filter.OWNER.getFilter().compile(Arrays.asList("Second")).test(getTestMethod("annotated")));
+        Assert.assertFalse(Filter.OWNER.getFilter().compile(Arrays.asList("nobody")).test(getTestMethod("annotated")));
+        Assert.assertFalse(Filter.OWNER.getFilter().compile(Arrays.asList("owner")).test(getTestMethod("plain")));
+    }
+
+    @Test
+    public void testTagFilterMatchesAnyTag() throws NoSuchMethodException {
+        Predicate<ITestNGMethod> predicate = Filter.TAGS.getFilter().compile(Arrays.asList("area=LOGIN"));
+        Assert.assertTrue(predicate.test(getTestMethod("annotated")));
+        Assert.assertFalse(predicate.test(getTestMethod("plain")));
+    }
+
+    @Test
+    public void testIsPerformWithChangedRuleValues() throws NoSuchMethodException {
+        List<String> owners = new ArrayList<String>(Arrays.asList("OWNER"));
+        Assert.assertTrue(Filter.OWNER.getFilter().isPerform(getTestMethod("annotated"), owners));
+        owners.set(0, "nobody");
+        Assert.assertFalse(Filter.OWNER.getFilter().isPerform(getTestMethod("annotated"), owners));
+    }
+
+    private static ITestNGMethod getTestMethod(String name) throws NoSuchMethodException {
+        ITestNGMethod testMethod = mock(ITestNGMethod.class);
+        when(testMethod.getConstructorOrMethod()).thenReturn(new ConstructorOrMethod(Sample.class.getMethod(name)));
+        when(testMethod.getMethodName()).thenReturn(name);
+        return testMethod;
+    }
+
+    public static class Sample {
+
+        @TestPriority(Priority.P1)
+        @MethodOwner(owner = "owner", secondaryOwner = "second")
+        @TestTag(name = "feature", value = "reg")
+        @TestTag(name = "area", value = "login")
+        public void annotated() {
+        }
+
+        public void plain() {
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.listeners;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class StartupOrchestratorTest {
+
+    @Test
+    public void testDependenciesOrder() {
+        List<String> executed = new CopyOnWriteArrayList<String>();
+        new StartupOrchestrator()
+                .addStep("a", "a failed", () -> executed.add("a"))
+                .addStep("b", "b failed", () -> executed.add("b"), "a")
+                .addStep("c", "c failed", () -> executed.add("c"), "a")
+                .addStep("d", "d failed", () -> executed.add("d"), "b", "c")
+                .run();
+
+        Assert.assertEquals(executed.size(), 4);
+        Assert.assertEquals(executed.get(0), "a");
+        Assert.assertEquals(executed.get(3), "d");
+    }
+
+    @Test
+    public void testIndependentStepsAreConcurrent() {
+        // both steps wait for each other so sequential execution would fail by timeout
+        CountDownLatch latch = new CountDownLatch(2);
+        List<Boolean> results = new CopyOnWriteArrayList<Boolean>();
+        Runnable step = () -> {
+            latch.countDown();
+            try {
+                results.add(latch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                results.add(false);
+            }
+        };
+        new StartupOrchestrator()
+                .addStep("first", "first failed", step)
+                .addStep("second", "second failed", step)
+                .run();
+
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertTrue(results.get(0) && results.get(1), "Independent steps were not executed concurrently!");
+    }
+
+    @Test
+    public void testFailureDoesNotBlockDependents() {
+        List<String> executed = new CopyOnWriteArrayList<String>();
+        new StartupOrchestrator()
+                .addStep("failed", "expected failure", () -> {
+                    throw new RuntimeException("failure");
+                })
+                .addStep("dependent", "dependent failed", () -> executed.add("dependent"), "failed")
+                .run();
+
+        Assert.assertEquals(executed.size(), 1);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testUnknownDependency() {
+        new StartupOrchestrator().addStep("a", "a failed", () -> {
+        }, "unknown");
+    }
+
+}
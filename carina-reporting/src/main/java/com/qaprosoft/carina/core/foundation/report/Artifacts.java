@@ -18,13 +18,14 @@ package com.qaprosoft.carina.core.foundation.report;
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import com.qaprosoft.amazon.client.AmazonS3Client;
 import org.apache.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 
 import com.qaprosoft.carina.core.foundation.utils.Configuration;
+import com.qaprosoft.zafira.client.ZafiraSingleton;
 import com.qaprosoft.zafira.models.dto.TestArtifactType;
 
 /**
@@ -44,23 +45,40 @@ final public class Artifacts {
         testArtifactsAsync.remove();
 	}
 
-	public synchronized static Set<TestArtifactType> getArtifacts() {
-		Set<TestArtifactType> artifacts = testArtifacts.get();
+	/**
+	 * Returns artifacts of the current test. Async artifacts which are not uploaded within
+	 * {@link AsyncArtifactRegistry#RESOLVE_TIMEOUT} are returned as pending and registered in Zafira once uploaded.
+	 * 
+	 * @return artifacts
+	 */
+	public static Set<TestArtifactType> getArtifacts() {
+		Set<TestArtifactType> artifacts = new HashSet<>(testArtifacts.get());
 		artifacts.addAll(getArtifactsAsync());
 		return artifacts;
 	}
 
-	private synchronized static Set<TestArtifactType> getArtifactsAsync() {
-		return testArtifactsAsync.get().stream().map(asyncArtifact -> {
-			String url = null;
-			try {
-				boolean ok = asyncArtifact.getUrlFuture().isDone();
-				url = asyncArtifact.getUrlFuture().get();
-			} catch (InterruptedException | ExecutionException e) {
-				LOGGER.error(e.getMessage(), e);
-			}
-			return new TestArtifactType(asyncArtifact.getName(), url, asyncArtifact.getExpiresIn());
-		}).collect(Collectors.toSet());
+	private static Set<TestArtifactType> getArtifactsAsync() {
+		Set<AsyncArtifact> asyncArtifacts = testArtifactsAsync.get();
+		if (asyncArtifacts.isEmpty()) {
+			return Collections.emptySet();
+		}
+		final Long testId = getTestId();
+		return AsyncArtifactRegistry.resolve(asyncArtifacts, AsyncArtifactRegistry.RESOLVE_TIMEOUT, artifact -> register(artifact, testId));
+	}
+
+	private static Long getTestId() {
+		ITestResult result = Reporter.getCurrentTestResult();
+		return result != null ? (Long) result.getAttribute("ztid") : null;
+	}
+
+	private static void register(TestArtifactType artifact, Long testId) {
+		if (testId == null || !ZafiraSingleton.INSTANCE.isRunning()) {
+			LOGGER.debug("Uploaded artifact '" + artifact.getName() + "' can't be registered as test is not tracked by Zafira.");
+			return;
+		}
+		LOGGER.debug("Registering uploaded artifact " + artifact.getName() + " into zafira");
+		artifact.setTestId(testId);
+		ZafiraSingleton.INSTANCE.getClient().addTestArtifact(artifact);
 	}
 
 	public static void add(String name, String link) {
@@ -22,6 +22,7 @@ class AsyncArtifact {
     private CompletableFuture<String> urlFuture;
     private String name;
     private Integer expiresIn;
+    private boolean reconciliation;
 
     public AsyncArtifact(CompletableFuture<String> urlFuture, String name, Integer expiresIn) {
         this.urlFuture = urlFuture;
@@ -40,4 +41,15 @@ class AsyncArtifact {
     public Integer getExpiresIn() {
         return expiresIn;
     }
+
+    /**
+     * @return true if background reconciliation wasn't requested for the artifact yet
+     */
+    synchronized boolean markReconciliation() {
+        if (reconciliation) {
+            return false;
+        }
+        reconciliation = true;
+        return true;
+    }
 }
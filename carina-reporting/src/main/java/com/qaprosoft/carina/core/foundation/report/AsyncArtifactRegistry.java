@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.report;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+
+import com.qaprosoft.zafira.models.dto.TestArtifactType;
+
+/**
+ * AsyncArtifactRegistry - resolves async artifacts URLs within single deadline per call. Artifacts which are not
+ * uploaded in time are reported as {@link #PENDING} and reconciled in background as soon as upload is finished.
+ */
+final class AsyncArtifactRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncArtifactRegistry.class);
+
+    static final String PENDING = "pending";
+
+    static final long RESOLVE_TIMEOUT = 10000;
+
+    private static final ExecutorService RECONCILER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "artifacts-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncArtifactRegistry() {
+    }
+
+    /**
+     * Resolves URLs of async artifacts.
+     * 
+     * @param artifacts async artifacts of the test
+     * @param timeout max time in milliseconds to wait for all artifacts
+     * @param reconciler receives artifact with actual URL when pending upload is finished
+     * @return artifacts with resolved or pending URLs
+     */
+    static Set<TestArtifactType> resolve(Collection<AsyncArtifact> artifacts, long timeout, Consumer<TestArtifactType> reconciler) {
+        Set<TestArtifactType> result = new HashSet<TestArtifactType>();
+        long deadline = System.currentTimeMillis() + timeout;
+        for (AsyncArtifact asyncArtifact : artifacts) {
+            CompletableFuture<String> urlFuture = asyncArtifact.getUrlFuture();
+            String url = null;
+            try {
+                url = urlFuture.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.debug("Artifact '" + asyncArtifact.getName() + "' is not uploaded yet and will be registered later.");
+                url = PENDING;
+                if (asyncArtifact.markReconciliation()) {
+                    urlFuture.thenAcceptAsync(
+                            resolvedUrl -> reconciler.accept(new TestArtifactType(asyncArtifact.getName(), resolvedUrl, asyncArtifact.getExpiresIn())),
+                            RECONCILER).whenComplete((nothing, error) -> {
+                                // failed upload or registration would be lost silently inside the future chain
+                                if (error != null) {
+                                    LOGGER.error("Unable to register artifact '" + asyncArtifact.getName() + "': " + error.getMessage(), error);
+                                }
+                            });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error(e.getMessage(), e);
+            } catch (ExecutionException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+            result.add(new TestArtifactType(asyncArtifact.getName(), url, asyncArtifact.getExpiresIn()));
+        }
+        return result;
+    }
+
+}
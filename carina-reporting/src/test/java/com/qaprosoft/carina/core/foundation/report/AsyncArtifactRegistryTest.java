@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.report;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.zafira.models.dto.TestArtifactType;
+
+public class AsyncArtifactRegistryTest {
+
+    @Test
+    public void testResolvedArtifacts() {
+        AsyncArtifact log = new AsyncArtifact(CompletableFuture.completedFuture("http://s3/log"), "Log", 100);
+        Set<TestArtifactType> artifacts = AsyncArtifactRegistry.resolve(Collections.singleton(log), 1000, artifact -> Assert.fail());
+
+        Assert.assertEquals(artifacts.size(), 1);
+        Assert.assertEquals(artifacts.iterator().next().getLink(), "http://s3/log");
+    }
+
+    @Test
+    public void testPendingArtifactIsReconciled() throws InterruptedException {
+        CompletableFuture<String> upload = new CompletableFuture<String>();
+        AsyncArtifact video = new AsyncArtifact(upload, "Video", 100);
+        AsyncArtifact slowVideo = new AsyncArtifact(new CompletableFuture<String>(), "Slow video", 100);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<TestArtifactType> reconciled = new AtomicReference<TestArtifactType>();
+
+        long start = System.currentTimeMillis();
+        Set<TestArtifactType> artifacts = AsyncArtifactRegistry.resolve(Arrays.asList(video, slowVideo), 200, artifact -> {
+            reconciled.set(artifact);
+            latch.countDown();
+        });
+
+        // deadline is shared between artifacts
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+        for (TestArtifactType artifact : artifacts) {
+            Assert.assertEquals(artifact.getLink(), AsyncArtifactRegistry.PENDING);
+        }
+
+        // second call doesn't schedule reconciliation again
+        AsyncArtifactRegistry.resolve(Collections.singleton(video), 0, artifact -> Assert.fail());
+
+        upload.complete("http://s3/video");
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(reconciled.get().getName(), "Video");
+        Assert.assertEquals(reconciled.get().getLink(), "http://s3/video");
+    }
+
+    @Test
+    public void testReconciliationErrorIsLogged() throws InterruptedException {
+        CountDownLatch logged = new CountDownLatch(2);
+        AppenderSkeleton appender = new AppenderSkeleton() {
+            @Override
+            protected void append(LoggingEvent event) {
+                if (event.getLevel() == Level.ERROR && event.getRenderedMessage().startsWith("Unable to register artifact")) {
+                    logged.countDown();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public boolean requiresLayout() {
+                return false;
+            }
+        };
+        Logger logger = Logger.getLogger(AsyncArtifactRegistry.class);
+        logger.addAppender(appender);
+        try {
+            CompletableFuture<String> failedUpload = new CompletableFuture<String>();
+            CompletableFuture<String> upload = new CompletableFuture<String>();
+            AsyncArtifactRegistry.resolve(Arrays.asList(new AsyncArtifact(failedUpload, "Log", 100), new AsyncArtifact(upload, "Video", 100)),
+                    0, artifact -> {
+                        throw new IllegalStateException("Zafira is not available");
+                    });
+
+            failedUpload.completeExceptionally(new IllegalStateException("Upload failed"));
+            upload.complete("http://s3/video");
+            Assert.assertTrue(logged.await(5, TimeUnit.SECONDS), "Reconciliation errors are not logged");
+        } finally {
+            logger.removeAppender(appender);
+        }
+    }
+
+}
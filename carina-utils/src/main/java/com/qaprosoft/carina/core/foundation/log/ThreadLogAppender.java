@@ -17,9 +17,17 @@ package com.qaprosoft.carina.core.foundation.log;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.log4j.AppenderSkeleton;
 import org.apache.log4j.MDC;
@@ -31,11 +39,31 @@ import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
 
 /*
  * This appender log groups test outputs by test method/test thread so they don't mess up each other even they runs in parallel.
+ * Test threads only format message and put it into the ring buffer, single background writer appends messages to test.log
+ * files and flushes them when there is nothing to write.
  */
 public class ThreadLogAppender extends AppenderSkeleton {
-    // single buffer for each thread test.log file
-    private final ThreadLocal<BufferedWriter> testLogBuffer = new ThreadLocal<BufferedWriter>();
-    private long bytesWritten;
+    private static final String TEST_LOG = "test.log";
+
+    private static final int BUFFER_CAPACITY = 64 * 1024;
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT = 30;
+
+    // 2016-05-26 04:39:16
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd hh:mm:ss"));
+
+    private final LogRingBuffer<Entry> buffer = new LogRingBuffer<Entry>(BUFFER_CAPACITY);
+
+    // accessed by writer thread only
+    private final Map<File, TestLog> testLogs = new HashMap<File, TestLog>();
+
+    private volatile Thread writer;
+    private Thread shutdownHook;
+    private volatile boolean writerParked = false;
+    private volatile long maxLogFileSize = -1;
+
     @Override
     public void append(LoggingEvent event) {
         // TODO: [VD] OBLIGATORY double check and create separate unit test for this case
@@ -47,62 +75,57 @@ public class ThreadLogAppender extends AppenderSkeleton {
          */
 
         try {
-
-            BufferedWriter fw = testLogBuffer.get();
-            if (fw == null) {
-                // 1st request to log something for this thread/test
-                File testLogFile = new File(ReportContext.getTestDir() + "/test.log");
-                if (!testLogFile.exists()){
-                    testLogFile.createNewFile();
-                    bytesWritten = 0;
-                }
-
-                fw = new BufferedWriter(new FileWriter(testLogFile, true));
-                testLogBuffer.set(fw);
-
-            }
-
+            String message = "null";
             if (event != null) {
                 // append time, thread, class name and device name if any
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss"); // 2016-05-26 04:39:16
-                String time = dateFormat.format(event.getTimeStamp());
-                // System.out.println("time: " + time);
+                String time = DATE_FORMAT.get().format(event.getTimeStamp());
 
                 long threadId = Thread.currentThread().getId();
                 MDC.put("threadId", "-" + String.valueOf(threadId));
-                // System.out.println("thread: " + threadId);
                 String fileName = event.getLocationInformation().getFileName();
-                // System.out.println("fileName: " + fileName);
 
                 String logLevel = event.getLevel().toString();
 
-                String message = "[%s] [%s] [%s] [%s] %s";
-                message = String.format(message, time, fileName, threadId, logLevel, event.getMessage().toString());
-                ensureCapacity(message.length());
-                fw.write(message);
-            } else {
-                fw.write("null");
+                message = String.format("[%s] [%s] [%s] [%s] %s", time, fileName, threadId, logLevel, event.getMessage());
             }
-            fw.write("\n");
-            fw.flush();
-        } catch (IOException e) {
-            e.printStackTrace();
+            publish(new Entry(getTestLogFile(), message, null, false));
         } catch (Exception e) {
             e.printStackTrace();
         }
+    }
 
+    /**
+     * Writes all messages logged so far into the test log file and closes it. Called before test directory renaming.
+     * 
+     * @param testDir test directory
+     */
+    public void close(File testDir) {
+        await(new Entry(new File(testDir, TEST_LOG), null, new CountDownLatch(1), false));
     }
 
+    /**
+     * Writes all pending messages, closes all test log files and stops the writer thread. Files are reopened in append
+     * mode and writer is started again on the next message.
+     */
     @Override
-    public void close() {
+    public synchronized void close() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        await(new Entry(null, null, new CountDownLatch(1), true));
         try {
-            BufferedWriter fw = testLogBuffer.get();
-            if (fw != null) {
-                fw.close();
-                testLogBuffer.remove();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+            thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!thread.isAlive()) {
+            writer = null;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // called by the shutdown hook itself
         }
     }
 
@@ -111,11 +134,180 @@ public class ThreadLogAppender extends AppenderSkeleton {
         return false;
     }
 
-    private void ensureCapacity(int len) throws IOException {
-        long newBytesWritten = this.bytesWritten + len;
-		long maxMegaBytes = Configuration.getLong(Parameter.MAX_LOG_FILE_SIZE) * 1024 * 1024;
-        if (newBytesWritten > maxMegaBytes)
-            throw new IOException("test Log file size exceeded core limit: " + newBytesWritten + " > " + maxMegaBytes);
-        this.bytesWritten = newBytesWritten;
+    protected File getTestLogFile() {
+        return new File(ReportContext.getTestDir(), TEST_LOG);
+    }
+
+    protected long getMaxLogFileSize() {
+        return Configuration.getLong(Parameter.MAX_LOG_FILE_SIZE) * 1024 * 1024;
+    }
+
+    private void await(Entry barrier) {
+        if (writer == null) {
+            // nothing was logged yet
+            return;
+        }
+        publish(barrier);
+        try {
+            if (!barrier.processed.await(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                System.err.println("Test logs were not flushed in " + CLOSE_TIMEOUT + " seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Entry entry) {
+        startWriter();
+        while (!buffer.offer(entry)) {
+            // writer is behind, wait a bit instead of dropping test log messages
+            wakeUpWriter();
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (writerParked) {
+            wakeUpWriter();
+        }
+    }
+
+    private void wakeUpWriter() {
+        LockSupport.unpark(writer);
+    }
+
+    private void startWriter() {
+        if (writer == null) {
+            synchronized (this) {
+                if (writer == null) {
+                    maxLogFileSize = getMaxLogFileSize();
+                    Thread thread = new Thread(this::write, "ThreadLogAppender-writer");
+                    thread.setDaemon(true);
+                    thread.start();
+                    shutdownHook = new Thread(this::close, "ThreadLogAppender-shutdown");
+                    Runtime.getRuntime().addShutdownHook(shutdownHook);
+                    writer = thread;
+                }
+            }
+        }
     }
+
+    private void write() {
+        while (true) {
+            Entry entry = buffer.poll();
+            if (entry == null) {
+                flushAll();
+                writerParked = true;
+                // recheck to not miss wake up from producer which published before the flag was raised
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+
+            try {
+                if (entry.processed != null) {
+                    closeLogs(entry.file);
+                } else {
+                    writeMessage(entry);
+                }
+            } catch (RuntimeException e) {
+                // writer should survive any failure otherwise test threads will wait for free slots forever
+                e.printStackTrace();
+            } finally {
+                if (entry.processed != null) {
+                    entry.processed.countDown();
+                }
+            }
+            if (entry.stop) {
+                return;
+            }
+        }
+    }
+
+    private void writeMessage(Entry entry) {
+        TestLog log = testLogs.get(entry.file);
+        try {
+            if (log == null) {
+                if (!entry.file.getParentFile().exists()) {
+                    // test directory was already renamed
+                    return;
+                }
+                // 1st request to log something for this test
+                log = new TestLog(entry.file);
+                testLogs.put(entry.file, log);
+            }
+            log.write(entry.message, maxLogFileSize);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void flushAll() {
+        for (TestLog log : testLogs.values()) {
+            try {
+                log.writer.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void closeLogs(File file) {
+        Iterator<Map.Entry<File, TestLog>> iterator = testLogs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<File, TestLog> log = iterator.next();
+            if (file == null || file.equals(log.getKey())) {
+                try {
+                    log.getValue().writer.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        private final File file;
+        private final String message;
+        // not null for flush barrier
+        private final CountDownLatch processed;
+        // true for the last entry processed by writer
+        private final boolean stop;
+
+        private Entry(File file, String message, CountDownLatch processed, boolean stop) {
+            this.file = file;
+            this.message = message;
+            this.processed = processed;
+            this.stop = stop;
+        }
+    }
+
+    private static class TestLog {
+        private final BufferedWriter writer;
+        private long bytesWritten;
+        private boolean capped = false;
+
+        private TestLog(File file) throws IOException {
+            this.bytesWritten = file.length();
+            this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8),
+                    WRITER_BUFFER_SIZE);
+        }
+
+        private void write(String message, long maxSize) throws IOException {
+            if (capped) {
+                return;
+            }
+            long length = message.length() + 1;
+            if (bytesWritten + length > maxSize) {
+                // single notice instead of failure on every further message
+                writer.write("test Log file size exceeded core limit: " + (bytesWritten + length) + " > " + maxSize + "\n");
+                capped = true;
+                return;
+            }
+            writer.write(message);
+            writer.write("\n");
+            bytesWritten += length;
+        }
+    }
+
 }
@@ -304,7 +304,7 @@ public class ReportContext {
                 try {
                     ThreadLogAppender tla = (ThreadLogAppender) Logger.getRootLogger().getAppender("ThreadLogAppender");
                     if (tla != null) {
-                        tla.close();
+                        tla.close(testDir);
                     }
 
                 } catch (NoSuchMethodError e) {
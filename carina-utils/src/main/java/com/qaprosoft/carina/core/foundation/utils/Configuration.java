@@ -16,7 +16,6 @@
 package com.qaprosoft.carina.core.foundation.utils;
 
 import java.lang.reflect.Constructor;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
@@ -329,25 +328,21 @@ public class Configuration {
     }
 
     public static String asString() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.get();
         StringBuilder asString = new StringBuilder();
         asString.append("\n============= Test configuration =============\n");
-        for (Parameter param : Parameter.values()) {
-            if (!Parameter.CRYPTO_KEY_PATH.equals(param)) {
-                asString.append(String.format("%s=%s%n", param.getKey(), Configuration.get(param)));
+        for (Map.Entry<String, String> entry : snapshot.getParameters().entrySet()) {
+            if (!Parameter.CRYPTO_KEY_PATH.getKey().equals(entry.getKey())) {
+                String value = entry.getValue();
+                asString.append(String.format("%s=%s%n", entry.getKey(), SpecialKeywords.NULL.equalsIgnoreCase(value) ? StringUtils.EMPTY : value));
             }
         }
 
         //write into the log extra information about selenium_host together with capabilities
         asString.append(String.format("%s=%s%n", "selenium_host", R.CONFIG.get("selenium_host")));
         asString.append("\n------------- Driver capabilities -----------\n");
-        // read all properties from config.properties and use "capabilities.*"
-        final String prefix = SpecialKeywords.CAPABILITIES + ".";
-        @SuppressWarnings({ "unchecked", "rawtypes" })
-        Map<String, String> capabilitiesMap = new HashMap(R.CONFIG.getProperties());
-        for (Map.Entry<String, String> entry : capabilitiesMap.entrySet()) {
-            if (entry.getKey().toLowerCase().startsWith(prefix)) {
-                asString.append(String.format("%s=%s%n", entry.getKey(), R.CONFIG.get(entry.getKey())));
-            }
+        for (Map.Entry<String, String> entry : snapshot.getCapabilities().entrySet()) {
+            asString.append(String.format("%s=%s%n", entry.getKey(), entry.getValue()));
         }
 
         asString.append("================================================\n");
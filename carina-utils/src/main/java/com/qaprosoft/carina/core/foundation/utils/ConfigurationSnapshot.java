@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.log4j.Logger;
+
+import com.qaprosoft.carina.core.foundation.commons.SpecialKeywords;
+import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
+
+/**
+ * ConfigurationSnapshot - immutable resolved view of the run configuration: all {@link Parameter} values and driver
+ * capabilities. Snapshot is built once and rebuilt only when configuration is changed via {@link R#put(String, String)},
+ * so report integrations can serialize it for every test without resolving placeholders again.
+ */
+public final class ConfigurationSnapshot {
+    private static final Logger LOGGER = Logger.getLogger(ConfigurationSnapshot.class);
+
+    private static volatile ConfigurationSnapshot snapshot;
+
+    private final long version;
+    private final Map<String, String> parameters;
+    private final Map<String, String> capabilities;
+
+    private ConfigurationSnapshot(long version) {
+        this.version = version;
+
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        for (Parameter parameter : Parameter.values()) {
+            parameters.put(parameter.getKey(), R.CONFIG.get(parameter.getKey()));
+        }
+        this.parameters = Collections.unmodifiableMap(parameters);
+
+        final String prefix = SpecialKeywords.CAPABILITIES + ".";
+        Map<String, String> capabilities = new TreeMap<String, String>();
+        for (Object key : R.CONFIG.getProperties().keySet().toArray()) {
+            String name = (String) key;
+            if (name.toLowerCase().startsWith(prefix)) {
+                capabilities.put(name, R.CONFIG.get(name));
+            }
+        }
+        this.capabilities = Collections.unmodifiableMap(capabilities);
+    }
+
+    /**
+     * @return snapshot of the current configuration, rebuilt if configuration was changed since last call
+     */
+    public static ConfigurationSnapshot get() {
+        ConfigurationSnapshot current = snapshot;
+        if (current == null || current.version != R.getModificationCount()) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    /**
+     * Builds snapshot of the current configuration.
+     * 
+     * @return ConfigurationSnapshot
+     */
+    public static synchronized ConfigurationSnapshot refresh() {
+        ConfigurationSnapshot current = snapshot;
+        long version = R.getModificationCount();
+        if (current == null || current.version != version) {
+            current = new ConfigurationSnapshot(version);
+            snapshot = current;
+            LOGGER.debug("Configuration snapshot is built for version " + version);
+        }
+        return current;
+    }
+
+    /**
+     * @return parameters values in {@link Parameter} order, placeholders are resolved
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @param parameter Parameter
+     * @return parameter value, placeholders are resolved
+     */
+    public String get(Parameter parameter) {
+        return parameters.get(parameter.getKey());
+    }
+
+    /**
+     * @return 'capabilities.*' properties sorted by name
+     */
+    public Map<String, String> getCapabilities() {
+        return capabilities;
+    }
+
+}
@@ -19,6 +19,7 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
@@ -56,6 +57,9 @@ public enum R {
 
     private static Map<String, Properties> propertiesHolder = new HashMap<String, Properties>();
 
+    // incremented on each put to let configuration consumers detect changes
+    private static final AtomicLong modificationCount = new AtomicLong();
+
     static {
         for (R resource : values()) {
             try {
@@ -118,6 +122,14 @@ public enum R {
 
     public void put(String key, String value) {
         propertiesHolder.get(resourceFile).put(key, value);
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * @return number of modifications done via {@link #put(String, String)}
+     */
+    public static long getModificationCount() {
+        return modificationCount.get();
     }
     
     /**
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.android.recorder.utils;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * AdbClient - talks to the local adb server over its socket protocol instead of forking adb process per command.
+ * Supported services: host:transport, shell: and sync: (push/pull). Every request uses own short living local socket
+ * as adb server switches connection to the device after transport selection.
+ */
+public class AdbClient {
+    private static final Logger LOGGER = Logger.getLogger(AdbClient.class);
+
+    public static final int DEFAULT_PORT = 5037;
+
+    private static final int CONNECT_TIMEOUT = 1000;
+    // max silence of device during command execution or file transfer, e.g. long "pm install"
+    private static final int READ_TIMEOUT = 5 * 60 * 1000;
+    private static final int SYNC_DATA_MAX = 64 * 1024;
+    private static final String TMP_DIR = "/data/local/tmp/";
+
+    private final String host;
+    private final int port;
+
+    public AdbClient() {
+        this("127.0.0.1", getDefaultPort());
+    }
+
+    public AdbClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    private static int getDefaultPort() {
+        String port = System.getenv("ANDROID_ADB_SERVER_PORT");
+        return StringUtils.isNumeric(port) && !port.isEmpty() ? Integer.parseInt(port) : DEFAULT_PORT;
+    }
+
+    /**
+     * Executes command in adb CLI format (adb [-s serial] command args) if it is supported by protocol client.
+     * 
+     * @param cmd String[]
+     * @return command output or null if command can't be executed without adb process
+     * @throws IOException in case of adb server communication problem
+     */
+    public List<String> execute(String[] cmd) throws IOException {
+        if (cmd.length < 2 || !("adb".equals(cmd[0]) || cmd[0].endsWith("/adb") || cmd[0].endsWith("\\adb.exe"))) {
+            return null;
+        }
+        int i = 1;
+        String serial = null;
+        if ("-s".equals(cmd[i])) {
+            if (cmd.length < 4) {
+                return null;
+            }
+            serial = cmd[i + 1];
+            i += 2;
+        }
+        String command = cmd[i];
+        List<String> args = Arrays.asList(cmd).subList(i + 1, cmd.length);
+        switch (command) {
+        case "shell":
+            return args.isEmpty() ? null : shell(serial, StringUtils.join(args, " "));
+        case "logcat":
+            return shell(serial, "logcat " + StringUtils.join(args, " "));
+        case "pull":
+            // directories are pulled recursively by adb process only
+            if (args.size() != 2 || args.get(0).endsWith("/")) {
+                return null;
+            }
+            try {
+                pull(serial, args.get(0), new File(args.get(1)));
+            } catch (AdbSyncException e) {
+                // i.e. remote path is a directory
+                LOGGER.debug(e.getMessage() + ", adb process will be used");
+                return null;
+            }
+            return new ArrayList<String>();
+        case "push":
+            if (args.size() != 2 || new File(args.get(0)).isDirectory()) {
+                return null;
+            }
+            try {
+                push(serial, new File(args.get(0)), args.get(1));
+            } catch (AdbSyncException e) {
+                LOGGER.debug(e.getMessage() + ", adb process will be used");
+                return null;
+            }
+            return new ArrayList<String>();
+        case "install":
+            if (args.isEmpty() || args.get(args.size() - 1).startsWith("-")) {
+                return null;
+            }
+            return install(serial, new File(args.get(args.size() - 1)), args.subList(0, args.size() - 1));
+        case "uninstall":
+            return args.isEmpty() ? null : shell(serial, "pm uninstall " + StringUtils.join(args, " "));
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Checks that adb server accepts connections.
+     * 
+     * @return boolean
+     */
+    public boolean isServerAvailable() {
+        try (Socket socket = connect()) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Executes shell command on device.
+     * 
+     * @param serial device serial or null for the only connected device
+     * @param command shell command
+     * @return output lines
+     * @throws IOException in case of communication error
+     */
+    public List<String> shell(String serial, String command) throws IOException {
+        try (InputStream stream = shellStream(serial, command, READ_TIMEOUT)) {
+            List<String> output = new ArrayList<String>();
+            BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                output.add(line);
+                LOGGER.debug(line);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Opens shell command output as a stream. Useful for long running commands like logcat. Closing of the stream
+     * closes underlying socket and terminates command on device.
+     * 
+     * @param serial device serial or null for the only connected device
+     * @param command shell command
+     * @return raw command output
+     * @throws IOException in case of communication error
+     */
+    public InputStream shellStream(String serial, String command) throws IOException {
+        return shellStream(serial, command, 0);
+    }
+
+    private InputStream shellStream(String serial, String command, int readTimeout) throws IOException {
+        Socket socket = openTransport(serial, readTimeout);
+        try {
+            request(socket, "shell:" + command);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket.getInputStream();
+    }
+
+    /**
+     * Pulls remote file to local file system using sync service.
+     * 
+     * @param serial device serial or null
+     * @param remotePath path on device
+     * @param localFile destination file
+     * @throws IOException in case of communication error or missed remote file
+     */
+    public void pull(String serial, String remotePath, File localFile) throws IOException {
+        if (localFile.isDirectory()) {
+            localFile = new File(localFile, StringUtils.substringAfterLast(remotePath, "/"));
+        }
+        try (Socket socket = openTransport(serial, READ_TIMEOUT)) {
+            request(socket, "sync:");
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            writeSyncPacket(out, "RECV", remotePath.getBytes(StandardCharsets.UTF_8));
+
+            byte[] buffer = new byte[SYNC_DATA_MAX];
+            boolean pulled = false;
+            try (OutputStream file = new FileOutputStream(localFile)) {
+                while (true) {
+                    String id = readId(in);
+                    int length = readIntLE(in);
+                    if ("DATA".equals(id)) {
+                        int remaining = length;
+                        while (remaining > 0) {
+                            int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+                            if (read < 0) {
+                                throw new IOException("Unexpected end of sync stream");
+                            }
+                            file.write(buffer, 0, read);
+                            remaining -= read;
+                        }
+                    } else if ("DONE".equals(id)) {
+                        pulled = true;
+                        break;
+                    } else if ("FAIL".equals(id)) {
+                        throw new AdbSyncException("Unable to pull '" + remotePath + "': " + readString(in, length));
+                    } else {
+                        throw new IOException("Unexpected sync response: " + id);
+                    }
+                }
+            } finally {
+                if (!pulled) {
+                    // don't leave partial file which can break retry by adb process
+                    localFile.delete();
+                }
+            }
+            writeSyncPacket(out, "QUIT", new byte[0]);
+        }
+    }
+
+    public void push(String serial, File localFile, String remotePath) throws IOException {
+        push(serial, localFile, remotePath, 0644);
+    }
+
+    /**
+     * Pushes local file to device using sync service.
+     * 
+     * @param serial device serial or null
+     * @param localFile source file
+     * @param remotePath path on device
+     * @param mode unix file mode
+     * @throws IOException in case of communication error
+     */
+    public void push(String serial, File localFile, String remotePath, int mode) throws IOException {
+        if (remotePath.endsWith("/")) {
+            remotePath = remotePath + localFile.getName();
+        }
+        try (Socket socket = openTransport(serial, READ_TIMEOUT)) {
+            request(socket, "sync:");
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            writeSyncPacket(out, "SEND", (remotePath + "," + (0100000 | mode)).getBytes(StandardCharsets.UTF_8));
+
+            byte[] buffer = new byte[SYNC_DATA_MAX];
+            try (InputStream file = new FileInputStream(localFile)) {
+                int read;
+                while ((read = file.read(buffer)) > 0) {
+                    writeSyncHeader(out, "DATA", read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            writeSyncHeader(out, "DONE", (int) (localFile.lastModified() / 1000));
+            out.flush();
+
+            String id = readId(in);
+            int length = readIntLE(in);
+            if ("FAIL".equals(id)) {
+                throw new AdbSyncException("Unable to push '" + localFile + "': " + readString(in, length));
+            } else if (!"OKAY".equals(id)) {
+                throw new IOException("Unexpected sync response: " + id);
+            }
+            writeSyncPacket(out, "QUIT", new byte[0]);
+        }
+    }
+
+    /**
+     * Installs apk by pushing it into temporary folder and running package manager.
+     * 
+     * @param serial device serial or null
+     * @param apk apk file
+     * @param options pm install options, i.e. -r
+     * @return pm output
+     * @throws IOException in case of communication error
+     */
+    public List<String> install(String serial, File apk, List<String> options) throws IOException {
+        String remotePath = TMP_DIR + apk.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
+        push(serial, apk, remotePath);
+        try {
+            return shell(serial, "pm install " + StringUtils.join(options, " ") + " " + remotePath);
+        } finally {
+            shell(serial, "rm " + remotePath);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    private Socket openTransport(String serial, int readTimeout) throws IOException {
+        Socket socket = connect();
+        try {
+            socket.setSoTimeout(readTimeout);
+            request(socket, serial == null ? "host:transport-any" : "host:transport:" + serial);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    /**
+     * Sends adb service request and verifies OKAY status.
+     */
+    private static void request(Socket socket, String service) throws IOException {
+        byte[] payload = service.getBytes(StandardCharsets.UTF_8);
+        OutputStream out = socket.getOutputStream();
+        out.write(String.format("%04x", payload.length).getBytes(StandardCharsets.US_ASCII));
+        out.write(payload);
+        out.flush();
+
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        String status = readId(in);
+        if ("FAIL".equals(status)) {
+            byte[] length = new byte[4];
+            in.readFully(length);
+            throw new AdbServerException(readString(in, Integer.parseInt(new String(length, StandardCharsets.US_ASCII), 16)));
+        } else if (!"OKAY".equals(status)) {
+            throw new IOException("Unexpected adb server response: " + status);
+        }
+    }
+
+    private static void writeSyncPacket(OutputStream out, String id, byte[] data) throws IOException {
+        writeSyncHeader(out, id, data.length);
+        out.write(data);
+        out.flush();
+    }
+
+    private static void writeSyncHeader(OutputStream out, String id, int value) throws IOException {
+        out.write(id.getBytes(StandardCharsets.US_ASCII));
+        out.write(new byte[] { (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24) });
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        byte[] id = new byte[4];
+        in.readFully(id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private static int readIntLE(DataInputStream in) throws IOException {
+        byte[] b = new byte[4];
+        in.readFully(b);
+        return (b[0] & 0xff) | (b[1] & 0xff) << 8 | (b[2] & 0xff) << 16 | (b[3] & 0xff) << 24;
+    }
+
+    private static String readString(DataInputStream in, int length) throws IOException {
+        byte[] b = new byte[length];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Error reported by adb server (i.e. device not found).
+     */
+    public static class AdbServerException extends IOException {
+        private static final long serialVersionUID = 2517312305383390215L;
+
+        public AdbServerException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Error reported by device sync service (i.e. remote path is a directory or can't be read). Such command can be
+     * retried using adb process.
+     */
+    public static class AdbSyncException extends IOException {
+        private static final long serialVersionUID = -6263707785716862446L;
+
+        public AdbSyncException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param e IOException
+     * @return true if adb server is not reachable at all
+     */
+    public static boolean isConnectionError(IOException e) {
+        return e instanceof ConnectException || e instanceof SocketTimeoutException;
+    }
+}
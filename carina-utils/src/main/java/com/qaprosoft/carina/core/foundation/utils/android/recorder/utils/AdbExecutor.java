@@ -17,6 +17,7 @@ package com.qaprosoft.carina.core.foundation.utils.android.recorder.utils;
 
 import java.io.BufferedReader;
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,9 @@ import org.apache.log4j.Logger;
 public class AdbExecutor {
     private static final Logger LOGGER = Logger.getLogger(AdbExecutor.class);
 
+    // talks to running adb server directly, adb process is used only when server is not started yet
+    private static final AdbClient ADB_CLIENT = new AdbClient();
+
     // private static final String REMOTE_ADB_EXECUTION_CMD = "ssh %s@%s %s";
     private static String[] cmdInit;
 
@@ -83,6 +87,11 @@ public class AdbExecutor {
     }
 
     public List<String> execute(String[] cmd) {
+        List<String> nativeOutput = executeNative(cmd);
+        if (nativeOutput != null) {
+            return nativeOutput;
+        }
+
         ProcessBuilderExecutor executor = null;
         BufferedReader in = null;
         List<String> output = new ArrayList<String>();
@@ -108,6 +117,27 @@ public class AdbExecutor {
         return output;
     }
 
+    /**
+     * Executes adb command via adb server protocol.
+     * 
+     * @param cmd String[]
+     * @return output or null if command should be executed by adb process
+     */
+    private List<String> executeNative(String[] cmd) {
+        try {
+            return ADB_CLIENT.execute(cmd);
+        } catch (IOException e) {
+            if (AdbClient.isConnectionError(e)) {
+                LOGGER.debug("adb server is not available, adb process will be used: " + e.getMessage());
+            } else {
+                // adb process reports the same errors the same way as before, e.g. device not found
+                LOGGER.debug("Unable to execute adb command '" + CmdLine.arrayToString(cmd) + "' via adb server, adb process will be used: "
+                        + e.getMessage());
+            }
+            return null;
+        }
+    }
+
     public static void closeQuietly(Closeable closeable) {
         try {
             if (closeable != null) {
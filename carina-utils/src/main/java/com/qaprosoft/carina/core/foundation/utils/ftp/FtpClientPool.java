@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.ftp;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPReply;
+import org.apache.log4j.Logger;
+
+/**
+ * FtpClientPool - keeps a few connected and logged in FTP clients per server and user so consequent uploads don't pay
+ * for connect and login. Idle client is verified by NOOP before reuse.
+ */
+public class FtpClientPool {
+	private static final Logger LOGGER = Logger.getLogger(FtpClientPool.class);
+
+	private static final int MAX_IDLE_CLIENTS = 4;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final Map<String, BlockingQueue<FTPClient>> IDLE_CLIENTS = new ConcurrentHashMap<String, BlockingQueue<FTPClient>>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> clear()));
+	}
+
+	private FtpClientPool() {
+	}
+
+	/**
+	 * Returns idle logged in client or creates new one.
+	 * 
+	 * @param ftpHost host
+	 * @param port port
+	 * @param user user
+	 * @param password password
+	 * @return FTPClient in binary passive mode
+	 * @throws IOException in case of connection or login failure
+	 */
+	public static FTPClient borrowClient(String ftpHost, int port, String user, String password) throws IOException {
+		BlockingQueue<FTPClient> idle = getIdleClients(ftpHost, port, user);
+		FTPClient ftp;
+		while ((ftp = idle.poll()) != null) {
+			if (isAlive(ftp)) {
+				LOGGER.debug("Reusing FTP connection to " + ftpHost);
+				return ftp;
+			}
+			FtpUtils.ftpDisconnect(ftp);
+		}
+		return connect(ftpHost, port, user, password);
+	}
+
+	/**
+	 * Returns client into the pool. Client is disconnected if pool is full or connection was lost.
+	 * 
+	 * @param ftpHost host
+	 * @param port port
+	 * @param user user
+	 * @param ftp client
+	 */
+	public static void releaseClient(String ftpHost, int port, String user, FTPClient ftp) {
+		if (!ftp.isConnected() || !getIdleClients(ftpHost, port, user).offer(ftp)) {
+			FtpUtils.ftpDisconnect(ftp);
+		}
+	}
+
+	/**
+	 * Disconnects all idle clients.
+	 */
+	public static void clear() {
+		for (BlockingQueue<FTPClient> idle : IDLE_CLIENTS.values()) {
+			FTPClient ftp;
+			while ((ftp = idle.poll()) != null) {
+				FtpUtils.ftpDisconnect(ftp);
+			}
+		}
+	}
+
+	private static BlockingQueue<FTPClient> getIdleClients(String ftpHost, int port, String user) {
+		return IDLE_CLIENTS.computeIfAbsent(user + "@" + ftpHost + ":" + port,
+				k -> new LinkedBlockingQueue<FTPClient>(MAX_IDLE_CLIENTS));
+	}
+
+	private static boolean isAlive(FTPClient ftp) {
+		try {
+			return ftp.isConnected() && ftp.sendNoOp();
+		} catch (IOException e) {
+			LOGGER.debug("Idle FTP connection is closed: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private static FTPClient connect(String ftpHost, int port, String user, String password) throws IOException {
+		FTPClient ftp = new FTPClient();
+		try {
+			ftp.connect(ftpHost, port);
+			LOGGER.debug("Connected to server : " + ftpHost);
+			int reply = ftp.getReplyCode();
+			LOGGER.debug("Reply code is : " + reply);
+			if (!FTPReply.isPositiveCompletion(reply)) {
+				LOGGER.info("FTP server refused connection. Reply code is : " + reply);
+				throw new IOException("FTP server refused connection.");
+			}
+			if (!ftp.login(user, password)) {
+				throw new IOException("Login to ftp failed. Check user credentials.");
+			}
+			LOGGER.debug("User has been successfully logged in.");
+			ftp.setFileType(FTP.BINARY_FILE_TYPE);
+			ftp.setBufferSize(BUFFER_SIZE);
+			ftp.enterLocalPassiveMode();
+			return ftp;
+		} catch (IOException e) {
+			FtpUtils.ftpDisconnect(ftp);
+			throw e;
+		}
+	}
+
+}
@@ -1,20 +1,21 @@
 package com.qaprosoft.carina.core.foundation.utils.ftp;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
-import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.io.input.CharSequenceInputStream;
 import org.apache.commons.net.ftp.FTPClient;
-import org.apache.commons.net.ftp.FTPReply;
 import org.apache.log4j.Logger;
 
 public class FtpUtils {
 	private static final Logger LOGGER = Logger.getLogger(FtpUtils.class);
 	private static final int DEFAULT_PORT = 21;
+	private static final int BUFFER_SIZE = 64 * 1024;
 
 	public static void uploadFile(String ftpHost, String user, String password, String filePassToUpload,
 			String fileName) {
@@ -32,17 +33,26 @@ public class FtpUtils {
 		}
 	}
 
-	public static void uploadData(String ftpHost, String user, String password, String data,
+	public static void uploadData(String ftpHost, String user, String password, CharSequence data,
 			String destinationFileName) {
 		uploadData(ftpHost, DEFAULT_PORT, user, password, data, destinationFileName);
 	}
 
-	public static void uploadData(String ftpHost, int port, String user, String password, String data,
+	/**
+	 * Uploads base64 encoded data. Data is decoded on the fly while it is written into FTP data connection, so decoded
+	 * content is never kept in memory.
+	 * 
+	 * @param ftpHost host
+	 * @param port port
+	 * @param user user
+	 * @param password password
+	 * @param data base64 encoded content
+	 * @param destinationFileName remote file name
+	 */
+	public static void uploadData(String ftpHost, int port, String user, String password, CharSequence data,
 			String destinationFileName) {
-		byte[] decode = Base64.getDecoder().decode(data);
 		LOGGER.debug("Data size to upload: " + data.length());
-		LOGGER.debug("Encoded data size to upload: " + decode.length);
-		try (InputStream is = new ByteArrayInputStream(decode)) {
+		try (InputStream is = Base64.getDecoder().wrap(new CharSequenceInputStream(data, StandardCharsets.US_ASCII, BUFFER_SIZE))) {
 			upload(ftpHost, port, user, password, is, destinationFileName);
 		} catch (IOException e) {
 			LOGGER.info("Exception while opening file for upload.");
@@ -55,34 +65,19 @@ public class FtpUtils {
 	    LOGGER.debug("FTP port to upload data : " + port);
         LOGGER.debug("Destination file name : " + fileName);
         long start = System.currentTimeMillis();
-		FTPClient ftp = new FTPClient();
+		FTPClient ftp = null;
+		boolean reusable = false;
 		try {
-			int reply;
-			ftp.connect(ftpHost, port);
-			LOGGER.debug("Connected to server : " + ftpHost);
-			reply = ftp.getReplyCode();
-			LOGGER.debug("Reply code is : " + reply);
-			if (!FTPReply.isPositiveCompletion(reply)) {
-				ftp.disconnect();
-				LOGGER.info("FTP server refused connection. Reply code is : " + reply);
-				throw new Exception("FTP server refused connection.");
-			}
-			if (!ftp.login(user, password)) {
-			    throw new Exception("Login to ftp failed. Check user credentials.");
-			};
-			LOGGER.debug("User has been successfully logged in.");
-			ftp.setFileType(FTP.BINARY_FILE_TYPE);
+			ftp = FtpClientPool.borrowClient(ftpHost, port, user, password);
 			try {
-			    ftp.enterLocalPassiveMode();
 			    LOGGER.debug("Passive host : " + ftp.getPassiveHost() + " Passive port : " + ftp.getPassivePort());
-			    LOGGER.debug("Default port : " + ftp.getDefaultPort());
-			    LOGGER.debug("Local port : " + ftp.getLocalPort());
 			    LOGGER.debug("Remote port : " + ftp.getRemotePort());
-				if (ftp.storeFile(fileName, is)) {
+				if (ftp.storeFile(fileName, new BufferedInputStream(is, BUFFER_SIZE))) {
 				    long finish = System.currentTimeMillis();
                     LOGGER.info("Video uploading completed in " + (finish - start) + " msecs.");
+                    reusable = true;
 				} else {
-				    LOGGER.info("Some issues occures during storing file to FTP. storeFile method returns false.");			    
+				    LOGGER.info("Some issues occures during storing file to FTP. storeFile method returns false. Reply: " + ftp.getReplyString());
 				}
 			} catch (IOException e) {
 				LOGGER.info("Exception while storing file to FTP", e);
@@ -90,7 +85,13 @@ public class FtpUtils {
 		} catch (Exception e) {
 			LOGGER.info("Exception while uploading while to FTP", e);
 		} finally {
-			ftpDisconnect(ftp);
+			if (ftp != null) {
+				if (reusable) {
+					FtpClientPool.releaseClient(ftpHost, port, user, ftp);
+				} else {
+					ftpDisconnect(ftp);
+				}
+			}
 		}
 	}
 
@@ -98,6 +99,10 @@ public class FtpUtils {
 		if (ftp.isConnected()) {
 			try {
 				ftp.logout();
+			} catch (Exception ioe) {
+				LOGGER.debug("Exception while logout from ftp: " + ioe.getMessage());
+			}
+			try {
 				ftp.disconnect();
 			} catch (Exception ioe) {
 				LOGGER.error("Exception while disconnecting ftp", ioe);
@@ -17,6 +17,8 @@ package com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android;
 
 public class Notification {
 
+    // NotificationRecord identity from dumpsys output
+    private String notificationId;
     private String notificationPkg;
     private String tickerText;
 
@@ -29,6 +31,14 @@ public class Notification {
         this.tickerText = tickerText;
     }
 
+    public String getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(String notificationId) {
+        this.notificationId = notificationId;
+    }
+
     public String getNotificationPkg() {
         return notificationPkg;
     }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NotificationParser - single pass parser of "dumpsys notification" output. Lines are processed one by one as they are
+ * read so the whole dump is never kept in memory. Record line looks like
+ * "NotificationRecord(0x0a3c5f2a: pkg=com.android.systemui user=UserHandle{0} ...)" and is followed by
+ * "tickerText=..." line of the same record.
+ */
+public class NotificationParser {
+
+    private static final String RECORD_MARKER = " NotificationRecord";
+    private static final String RECORD_ID_PREFIX = "NotificationRecord(";
+    private static final String PKG_PREFIX = "pkg=";
+    private static final String USER_SUFFIX = " user";
+    private static final String TICKER_TEXT_PREFIX = "tickerText=";
+
+    private final List<Notification> notifications = new ArrayList<Notification>();
+    private Notification notification = new Notification();
+
+    public static List<Notification> parse(InputStream stream) throws IOException {
+        NotificationParser parser = new NotificationParser();
+        BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            parser.parseLine(line);
+        }
+        return parser.getNotifications();
+    }
+
+    public static List<Notification> parse(List<String> lines) {
+        NotificationParser parser = new NotificationParser();
+        lines.forEach(parser::parseLine);
+        return parser.getNotifications();
+    }
+
+    public void parseLine(String line) {
+        int marker = line.indexOf(RECORD_MARKER);
+        if (marker >= 0) {
+            int pkg = line.lastIndexOf(PKG_PREFIX);
+            int user = line.lastIndexOf(USER_SUFFIX);
+            if (pkg > marker && user >= pkg + PKG_PREFIX.length()) {
+                notification.setNotificationPkg(line.substring(pkg + PKG_PREFIX.length(), user));
+                notification.setNotificationId(parseId(line, marker + 1));
+            }
+        }
+
+        int text = line.lastIndexOf(TICKER_TEXT_PREFIX);
+        if (text >= 0) {
+            notification.setNotificationText(line.substring(text + TICKER_TEXT_PREFIX.length()));
+            notifications.add(notification);
+            notification = new Notification();
+        }
+    }
+
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    private static String parseId(String line, int from) {
+        if (!line.startsWith(RECORD_ID_PREFIX, from)) {
+            return null;
+        }
+        int start = from + RECORD_ID_PREFIX.length();
+        int end = start;
+        while (end < line.length() && line.charAt(end) != ':' && line.charAt(end) != ' ') {
+            end++;
+        }
+        return end > start ? line.substring(start, end) : null;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NotificationTracker - remembers previous notifications snapshot and returns only entries which appeared since then.
+ */
+public class NotificationTracker {
+
+    private Set<String> known = new HashSet<String>();
+
+    public NotificationTracker() {
+    }
+
+    public NotificationTracker(List<Notification> snapshot) {
+        update(snapshot);
+    }
+
+    /**
+     * Replaces tracked snapshot.
+     * 
+     * @param snapshot actual notifications
+     * @return notifications absent in the previous snapshot
+     */
+    public List<Notification> update(List<Notification> snapshot) {
+        List<Notification> added = new ArrayList<Notification>();
+        Set<String> actual = new HashSet<String>(snapshot.size() * 2);
+        for (Notification notification : snapshot) {
+            String key = getKey(notification);
+            if (actual.add(key) && !known.contains(key)) {
+                added.add(notification);
+            }
+        }
+        known = actual;
+        return added;
+    }
+
+    private static String getKey(Notification notification) {
+        // the same record can be updated with new text so text is part of the key
+        return notification.getNotificationId() + "|" + notification.getNotificationPkg() + "|" + notification.getNotificationText();
+    }
+
+}
@@ -16,11 +16,12 @@
 package com.qaprosoft.carina.core.foundation.utils.ownership;
 
 import com.qaprosoft.carina.core.foundation.commons.SpecialKeywords;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadata;
+import com.qaprosoft.carina.core.foundation.utils.tag.TestMethodMetadataIndex;
 import org.apache.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 
-import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -47,40 +48,23 @@ public class Ownership {
             }
         }
 
-        // Get a handle to the class and method
-        Class<?> testClass;
+        // owners are resolved once per method and shared by all its invocations
+        TestMethodMetadata metadata = TestMethodMetadataIndex.get(result);
         String owner = "";
-        try {
-            testClass = Class.forName(result.getMethod().getTestClass().getName());
-
-            // We can't use getMethod() because we may have parameterized tests
-            // for which we won't know the matching signature
-            String methodName = result.getMethod().getMethodName();
-            Method testMethod = null;
-            Method[] possibleMethods = testClass.getMethods();
-            for (Method possibleMethod : possibleMethods) {
-                if (possibleMethod.getName().equals(methodName)) {
-                    testMethod = possibleMethod;
-                    break;
+        switch (type) {
+            case PRIMARY:
+                if (metadata.getOwner() != null) {
+                    owner = metadata.getOwner();
+                    LOGGER.debug("Method '" + metadata.getMethod() + "' primary owner is: " + owner);
                 }
-            }
+                break;
 
-            if (testMethod != null && testMethod.isAnnotationPresent(MethodOwner.class)) {
-                MethodOwner methodAnnotation = testMethod.getAnnotation(MethodOwner.class);
-                switch (type) {
-                    case PRIMARY:
-                        owner = methodAnnotation.owner();
-                        LOGGER.debug("Method '" + testMethod + "' primary owner is: " + owner);
-                        break;
-
-                    case SECONDARY:
-                        owner = methodAnnotation.secondaryOwner();
-                        LOGGER.debug("Method '" + testMethod + "' secondary owner is: " + owner);
-                        break;
+            case SECONDARY:
+                if (metadata.getSecondaryOwner() != null) {
+                    owner = metadata.getSecondaryOwner();
+                    LOGGER.debug("Method '" + metadata.getMethod() + "' secondary owner is: " + owner);
                 }
-            }
-        } catch (ClassNotFoundException e) {
-            LOGGER.error(e);
+                break;
         }
         return owner;
     }
@@ -43,6 +43,8 @@ public class I18N {
 
     private static ArrayList<ResourceBundle> resBoundles = new ArrayList<ResourceBundle>();
 
+    private static volatile ResourceBundleIndex index = ResourceBundleIndex.EMPTY;
+
     public static void init() {
         if (!Configuration.getBoolean(Parameter.ENABLE_I18N)) {
             return;
@@ -53,7 +55,7 @@ public class I18N {
         List<Locale> locales = LocaleReader.init(Configuration
                 .get(Parameter.LANGUAGE));
 
-        for (URL u : Resources.getResourceURLs(new ResourceURLFilter() {
+        for (URL u : ResourceIndex.getInstance().getResourceURLs(new ResourceURLFilter() {
             public @Override boolean accept(URL u) {
 				String s = u.getPath();
 				boolean contains = s.contains(SpecialKeywords.I18N);
@@ -121,11 +123,13 @@ public class I18N {
                                 resource));
             }
         }
+        index = ResourceBundleIndex.build(resBoundles, Locale::getLanguage, value -> value);
+
         LOGGER.debug("init: I18N bundle size: " + resBoundles.size());
     }
 
     private static Locale getDefaultLanguage() {
-        List<Locale> locales = LocaleReader.init(Configuration
+        List<Locale> locales = LocaleReader.getLocales(Configuration
                 .get(Parameter.LANGUAGE));
 
         if (locales.size() == 0) {
@@ -157,25 +161,11 @@ public class I18N {
      * @return String
      */
     public static String getText(String key, Locale locale) {
-        LOGGER.debug("getText: I18N bundle size: " + resBoundles.size());
-        Iterator<ResourceBundle> iter = resBoundles.iterator();
-        while (iter.hasNext()) {
-            ResourceBundle bundle = iter.next();
-            try {
-                String value = bundle.getString(key);
-                LOGGER.debug("Looking for value for language:'"
-                        + locale.getLanguage()
-                        + "' current iteration language is: '"
-                        + bundle.getLocale().getLanguage() + "'.");
-                if (bundle.getLocale().getLanguage().equals(locale.getLanguage())) {
-                    LOGGER.debug("Found language:'" + locale.getLanguage()
-                            + "' and value is '" + value + "'.");
-                    return value;
-                }
-            } catch (MissingResourceException e) {
-                // do nothing
-            }
+        String value = index.get(key, locale);
+        if (value == null) {
+            LOGGER.debug("Unable to find value for key '" + key + "' and language '" + locale.getLanguage() + "'.");
+            return key;
         }
-        return key;
+        return value;
     }
-}
\ No newline at end of file
+}
@@ -46,6 +46,8 @@ public class L10N {
 
     private static ArrayList<ResourceBundle> resBoundles = new ArrayList<ResourceBundle>();
 
+    private static volatile ResourceBundleIndex index = ResourceBundleIndex.EMPTY;
+
     public static void init() {
         if (!Configuration.getBoolean(Parameter.ENABLE_L10N)) {
             return;
@@ -56,7 +58,7 @@ public class L10N {
 
         List<String> loadedResources = new ArrayList<String>();
 
-        for (URL u : Resources.getResourceURLs(new ResourceURLFilter() {
+        for (URL u : ResourceIndex.getInstance().getResourceURLs(new ResourceURLFilter() {
             public @Override boolean accept(URL u) {
 				String s = u.getPath();
 				boolean contains = s.contains(SpecialKeywords.L10N);
@@ -132,6 +134,10 @@ public class L10N {
             }
         }
 
+        // values are converted to UTF-8 only once during indexing
+        final boolean utf8 = isUTF8();
+        index = ResourceBundleIndex.build(resBoundles, Locale::toString, value -> utf8 ? toUTF8(value) : value);
+
         LOGGER.debug("init: L10N bundle size: " + resBoundles.size());
     }
 
@@ -141,7 +147,7 @@ public class L10N {
      * @return Locale
      */
     public static Locale getDefaultLocale() {
-        List<Locale> locales = LocaleReader.init(Configuration
+        List<Locale> locales = LocaleReader.getLocales(Configuration
                 .get(Parameter.LOCALE));
 
         if (locales.size() == 0) {
@@ -173,35 +179,21 @@ public class L10N {
      * @return String
      */
     public static String getText(String key, Locale locale) {
-        LOGGER.debug("getText: L10N bundle size: " + resBoundles.size());
-        Iterator<ResourceBundle> iter = resBoundles.iterator();
-        while (iter.hasNext()) {
-            ResourceBundle bundle = iter.next();
-            try {
-                String value = bundle.getString(key);
-				if (isUTF8()) {
-					try {
-						LOGGER.debug("converting key '" + value + "' to UTF-8");
-						value = new String(value.getBytes("ISO-8859-1"), "UTF-8");
-					} catch (UnsupportedEncodingException er) {
-						LOGGER.debug("Error: ", er);
-					}
-				}
-				
-                LOGGER.debug("Looking for value for locale:'"
-                        + locale.toString()
-                        + "' current iteration locale is: '"
-                        + bundle.getLocale().toString() + "'.");
-                if (bundle.getLocale().toString().equals(locale.toString())) {
-                    LOGGER.debug("Found locale:'" + locale.toString()
-                            + "' and value is '" + value + "'.");
-                    return value;
-                }
-            } catch (MissingResourceException e) {
-                // do nothing
-            }
+        String value = index.get(key, locale);
+        if (value == null) {
+            LOGGER.debug("Unable to find value for key '" + key + "' and locale '" + locale + "'.");
+            return key;
+        }
+        return value;
+    }
+
+    private static String toUTF8(String value) {
+        try {
+            return new String(value.getBytes("ISO-8859-1"), "UTF-8");
+        } catch (UnsupportedEncodingException er) {
+            LOGGER.debug("Error: ", er);
+            return value;
         }
-        return key;
     }
 
     /*
@@ -16,11 +16,26 @@
 package com.qaprosoft.carina.core.foundation.utils.resources;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LocaleReader {
 
+    private static final Map<String, List<Locale>> LOCALES = new ConcurrentHashMap<String, List<Locale>>();
+
+    /**
+     * Parses locale setting only once per distinct value.
+     * 
+     * @param locale comma separated locales, e.g. "en_US,de_DE"
+     * @return unmodifiable list of locales
+     */
+    public static List<Locale> getLocales(String locale) {
+        return LOCALES.computeIfAbsent(locale, l -> Collections.unmodifiableList(init(l)));
+    }
+
     public static List<Locale> init(String locale) {
 
         List<Locale> locales = new ArrayList<Locale>();
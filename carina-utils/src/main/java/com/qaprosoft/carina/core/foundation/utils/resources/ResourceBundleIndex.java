@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.resources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/*
+ * Immutable (locale, key) -> value index built once from loaded resource bundles. Bundles are processed in loading order
+ * so the first bundle which contains a key for the locale wins, the same as the former linear bundles scan.
+ */
+public class ResourceBundleIndex {
+
+    public static final ResourceBundleIndex EMPTY = new ResourceBundleIndex(Collections.emptyMap(), Locale::toString);
+
+    private final Map<String, Map<String, String>> values;
+    private final Function<Locale, String> localeKey;
+
+    private ResourceBundleIndex(Map<String, Map<String, String>> values, Function<Locale, String> localeKey) {
+        this.values = values;
+        this.localeKey = localeKey;
+    }
+
+    /**
+     * @param bundles loaded bundles
+     * @param localeKey locale matching key, e.g. full locale or language only
+     * @param converter value converter applied once per value
+     * @return ResourceBundleIndex
+     */
+    public static ResourceBundleIndex build(List<ResourceBundle> bundles, Function<Locale, String> localeKey,
+            UnaryOperator<String> converter) {
+        Map<String, Map<String, String>> values = new HashMap<String, Map<String, String>>();
+        for (ResourceBundle bundle : bundles) {
+            Map<String, String> localeValues = values.computeIfAbsent(localeKey.apply(bundle.getLocale()),
+                    k -> new HashMap<String, String>());
+            for (String key : bundle.keySet()) {
+                if (!localeValues.containsKey(key)) {
+                    try {
+                        localeValues.put(key, converter.apply(bundle.getString(key)));
+                    } catch (MissingResourceException | ClassCastException e) {
+                        // not a string resource
+                    }
+                }
+            }
+        }
+        for (Map.Entry<String, Map<String, String>> entry : values.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        return new ResourceBundleIndex(Collections.unmodifiableMap(values), localeKey);
+    }
+
+    /**
+     * @param key resource key
+     * @param locale locale
+     * @return value or null if absent
+     */
+    public String get(String key, Locale locale) {
+        Map<String, String> localeValues = values.get(localeKey.apply(locale));
+        return localeValues != null ? localeValues.get(key) : null;
+    }
+
+    public int size() {
+        return values.values().stream().mapToInt(Map::size).sum();
+    }
+
+}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.resources;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.log4j.Logger;
+
+/*
+ * ResourceIndex - list of all files located in classpath directories. Classpath is scanned only once per JVM, directories
+ * are walked in parallel. Result is persisted into the cache file named by classpath fingerprint and reused by the next
+ * runs until any indexed directory is changed (file added, removed or renamed).
+ */
+public class ResourceIndex {
+    protected static final Logger LOGGER = Logger.getLogger(ResourceIndex.class);
+
+    private static final String CACHE_VERSION = "1";
+    private static final String DIR_PREFIX = "D\t";
+    private static final String FILE_PREFIX = "F\t";
+
+    private static volatile ResourceIndex instance;
+
+    // directory path -> last modified
+    private final Map<String, Long> directories;
+    private final List<String> files;
+    private volatile List<URL> urls;
+
+    private ResourceIndex(Map<String, Long> directories, List<String> files) {
+        this.directories = directories;
+        this.files = files;
+    }
+
+    public static ResourceIndex getInstance() {
+        if (instance == null) {
+            synchronized (ResourceIndex.class) {
+                if (instance == null) {
+                    List<File> roots = getClasspathRoots();
+                    instance = load(roots, getCacheFile(roots));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Loads index from the cache file if it is still valid otherwise scans roots and rewrites the cache.
+     * 
+     * @param roots classpath directories
+     * @param cacheFile cache file or null to skip persistence
+     * @return ResourceIndex
+     */
+    public static ResourceIndex load(List<File> roots, File cacheFile) {
+        long start = System.currentTimeMillis();
+        ResourceIndex index = cacheFile != null ? read(cacheFile) : null;
+        if (index != null && index.isUpToDate()) {
+            LOGGER.debug(String.format("Resource index with %d files was loaded from %s in %d ms.", index.files.size(), cacheFile,
+                    System.currentTimeMillis() - start));
+            return index;
+        }
+
+        index = scan(roots);
+        LOGGER.debug(String.format("Classpath was scanned in %d ms, %d files were indexed.", System.currentTimeMillis() - start,
+                index.files.size()));
+        if (cacheFile != null) {
+            index.write(cacheFile);
+        }
+        return index;
+    }
+
+    /**
+     * @param filter resource filter or null
+     * @return URLs of all indexed files accepted by the filter
+     */
+    public Set<URL> getResourceURLs(ResourceURLFilter filter) {
+        Set<URL> collectedURLs = new HashSet<>();
+        for (URL url : getURLs()) {
+            if (filter == null || filter.accept(url)) {
+                LOGGER.debug("adding resource url by filter: " + url);
+                collectedURLs.add(url);
+            }
+        }
+        return collectedURLs;
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    private List<URL> getURLs() {
+        if (urls == null) {
+            List<URL> list = new ArrayList<URL>(files.size());
+            for (String file : files) {
+                try {
+                    list.add(new File(file).toURI().toURL());
+                } catch (MalformedURLException e) {
+                    LOGGER.debug(e);
+                }
+            }
+            urls = Collections.unmodifiableList(list);
+        }
+        return urls;
+    }
+
+    private boolean isUpToDate() {
+        // any added, removed or renamed file updates last modified of its directory
+        return directories.entrySet().parallelStream().allMatch(e -> new File(e.getKey()).lastModified() == e.getValue());
+    }
+
+    private static ResourceIndex scan(List<File> roots) {
+        Map<String, Long> directories = new LinkedHashMap<String, Long>();
+        List<String> files = new ArrayList<String>();
+        // top level directories of every classpath root are walked in parallel
+        List<File> subdirectories = new ArrayList<File>();
+        for (File root : roots) {
+            if (!root.isDirectory()) {
+                // jar entries are not indexed as before
+                continue;
+            }
+            directories.put(root.getAbsolutePath(), root.lastModified());
+            File[] children = root.listFiles();
+            if (children == null) {
+                continue;
+            }
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    subdirectories.add(child);
+                } else if (child.isFile()) {
+                    files.add(child.getAbsolutePath());
+                }
+            }
+        }
+
+        List<ResourceIndex> parts = subdirectories.parallelStream().map(ResourceIndex::walk).collect(Collectors.toList());
+        for (ResourceIndex part : parts) {
+            directories.putAll(part.directories);
+            files.addAll(part.files);
+        }
+        return new ResourceIndex(directories, Collections.unmodifiableList(files));
+    }
+
+    private static ResourceIndex walk(File dir) {
+        Map<String, Long> directories = new LinkedHashMap<String, Long>();
+        List<String> files = new ArrayList<String>();
+        walk(dir, directories, files);
+        return new ResourceIndex(directories, files);
+    }
+
+    private static void walk(File dir, Map<String, Long> directories, List<String> files) {
+        directories.put(dir.getAbsolutePath(), dir.lastModified());
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File file : children) {
+            if (file.isDirectory()) {
+                walk(file, directories, files);
+            } else if (file.isFile()) {
+                files.add(file.getAbsolutePath());
+            }
+        }
+    }
+
+    private static ResourceIndex read(File cacheFile) {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        Map<String, Long> directories = new LinkedHashMap<String, Long>();
+        List<String> files = new ArrayList<String>();
+        try (BufferedReader in = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!CACHE_VERSION.equals(in.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(DIR_PREFIX)) {
+                    int separator = line.indexOf('\t', DIR_PREFIX.length());
+                    directories.put(line.substring(separator + 1), Long.parseLong(line.substring(DIR_PREFIX.length(), separator)));
+                } else if (line.startsWith(FILE_PREFIX)) {
+                    files.add(line.substring(FILE_PREFIX.length()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to read resource index cache " + cacheFile + ": " + e.getMessage());
+            return null;
+        }
+        return new ResourceIndex(directories, Collections.unmodifiableList(files));
+    }
+
+    private void write(File cacheFile) {
+        try {
+            File dir = cacheFile.getParentFile();
+            if (dir != null && !dir.exists()) {
+                dir.mkdirs();
+            }
+            // write into temporary file first as several JVMs may share the cache
+            File tmp = File.createTempFile(cacheFile.getName(), ".tmp", dir);
+            try (BufferedWriter out = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                out.write(CACHE_VERSION);
+                out.newLine();
+                for (Map.Entry<String, Long> entry : directories.entrySet()) {
+                    out.write(DIR_PREFIX + entry.getValue() + "\t" + entry.getKey());
+                    out.newLine();
+                }
+                for (String file : files) {
+                    out.write(FILE_PREFIX + file);
+                    out.newLine();
+                }
+            }
+            Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to save resource index cache " + cacheFile + ": " + e.getMessage());
+        }
+    }
+
+    private static List<File> getClasspathRoots() {
+        List<File> roots = new ArrayList<File>();
+        ClassLoader loader = ClassLoader.getSystemClassLoader();
+        if (loader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                try {
+                    roots.add(new File(url.toURI()));
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    LOGGER.debug(e);
+                }
+            }
+        } else {
+            // java 9+ application class loader
+            for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                if (!path.isEmpty()) {
+                    roots.add(new File(path));
+                }
+            }
+        }
+        return roots;
+    }
+
+    private static File getCacheFile(List<File> roots) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (File root : roots) {
+                digest.update(root.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest()) {
+                fingerprint.append(String.format("%02x", b));
+            }
+            return new File(System.getProperty("java.io.tmpdir"), "carina/resource-index-" + fingerprint + ".idx");
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.debug(e);
+            return null;
+        }
+    }
+
+}
@@ -19,7 +19,6 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLClassLoader;
 import java.security.CodeSource;
 import java.util.HashSet;
 import java.util.Set;
@@ -71,18 +70,9 @@ public class Resources {
         return getResourceURLs(rootClass, null);
     }
 
+    // classpath is scanned only once, see ResourceIndex
     public static Set<URL> getResourceURLs(ResourceURLFilter filter) {
-        Set<URL> collectedURLs = new HashSet<>();
-        URLClassLoader ucl = (URLClassLoader) ClassLoader
-                .getSystemClassLoader();
-        for (URL url : ucl.getURLs()) {
-			try {
-				iterateEntry(new File(url.toURI()), filter, collectedURLs);
-			} catch (URISyntaxException e) {
-				LOGGER.debug(e);
-			}
-        }
-        return collectedURLs;
+        return ResourceIndex.getInstance().getResourceURLs(filter);
     }
 
     @SuppressWarnings("rawtypes")
@@ -19,8 +19,6 @@ import org.apache.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 
-import java.lang.reflect.Method;
-
 public class PriorityManager {
     protected static final Logger LOGGER = Logger.getLogger(PriorityManager.class);
 
@@ -28,35 +26,12 @@ public class PriorityManager {
     }
 
     public static String getPriority(ITestResult result) {
-
-        // Get a handle to the class and method
-        Class<?> testClass;
-        String priority = getSuitePriority(result.getTestContext());
-
-        try {
-            testClass = Class.forName(result.getMethod().getTestClass().getName());
-
-            // We can't use getMethod() because we may have parameterized tests
-            // for which we won't know the matching signature
-            String methodName = result.getMethod().getMethodName();
-            Method testMethod = null;
-            Method[] possibleMethods = testClass.getMethods();
-            for (Method possibleMethod : possibleMethods) {
-                if (possibleMethod.getName().equals(methodName)) {
-                    testMethod = possibleMethod;
-                    break;
-                }
-            }
-
-            if (testMethod != null && testMethod.isAnnotationPresent(TestPriority.class)) {
-                TestPriority methodAnnotation = testMethod.getAnnotation(TestPriority.class);
-                priority = methodAnnotation.value().name();
-                LOGGER.debug("Method '" + testMethod + "' priority is: " + priority);
-            }
-        } catch (ClassNotFoundException e) {
-            LOGGER.error(e);
+        String priority = TestMethodMetadataIndex.get(result).getPriority();
+        if (priority != null) {
+            LOGGER.debug("Method '" + result.getMethod().getMethodName() + "' priority is: " + priority);
+            return priority;
         }
-        return priority;
+        return getSuitePriority(result.getTestContext());
     }
 
     private static String getSuitePriority(ITestContext context) {
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.tag;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+
+import com.qaprosoft.carina.core.foundation.utils.ownership.MethodOwner;
+
+/**
+ * TestMethodMetadata - immutable test method annotations data resolved once per method: tags, priority, owners and
+ * raw annotations for the rest of carina annotations (e.g. ExpectedSkip).
+ */
+public final class TestMethodMetadata {
+    private static final Logger LOGGER = Logger.getLogger(TestMethodMetadata.class);
+
+    private static final Pattern FORBIDDEN_TAG_NAMES = Pattern.compile("priority");
+
+    static final TestMethodMetadata EMPTY = new TestMethodMetadata(null);
+
+    private final Method method;
+    private final Map<String, String> tags;
+    private final List<String> tagPairs;
+    private final String priority;
+    private final String owner;
+    private final String secondaryOwner;
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+    TestMethodMetadata(Method method) {
+        this.method = method;
+
+        Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<Class<? extends Annotation>, Annotation>();
+        if (method != null) {
+            for (Annotation annotation : method.getAnnotations()) {
+                annotations.put(annotation.annotationType(), annotation);
+            }
+        }
+        this.annotations = Collections.unmodifiableMap(annotations);
+
+        List<TestTag> testTags = new ArrayList<TestTag>();
+        TestTag tag = getAnnotation(TestTag.class);
+        if (tag != null) {
+            testTags.add(tag);
+        }
+        TestTag.List tagList = getAnnotation(TestTag.List.class);
+        if (tagList != null) {
+            Collections.addAll(testTags, tagList.value());
+        }
+
+        Map<String, String> tags = new LinkedHashMap<String, String>();
+        List<String> tagPairs = new ArrayList<String>();
+        for (TestTag testTag : testTags) {
+            tagPairs.add(testTag.name() + "=" + testTag.value());
+            if (isValid(testTag.name())) {
+                tags.put(testTag.name(), testTag.value());
+                LOGGER.debug("Method '" + method + "' tag pair: " + testTag.name() + " : " + testTag.value());
+            }
+        }
+        this.tags = Collections.unmodifiableMap(tags);
+        this.tagPairs = Collections.unmodifiableList(tagPairs);
+
+        TestPriority testPriority = getAnnotation(TestPriority.class);
+        this.priority = testPriority != null ? testPriority.value().name() : null;
+
+        MethodOwner methodOwner = getAnnotation(MethodOwner.class);
+        this.owner = methodOwner != null ? methodOwner.owner() : null;
+        this.secondaryOwner = methodOwner != null ? methodOwner.secondaryOwner() : null;
+    }
+
+    private static boolean isValid(String content) {
+        if (content != null && FORBIDDEN_TAG_NAMES.matcher(content).find()) {
+            LOGGER.error("TestTag name contains one of the forbidden tag names: " + content);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return test method or null if it can't be resolved
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return valid tags declared by @TestTag annotations
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return all declared tags in "name=value" format
+     */
+    public List<String> getTagPairs() {
+        return tagPairs;
+    }
+
+    /**
+     * @return priority name declared by @TestPriority or null
+     */
+    public String getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return primary owner declared by @MethodOwner or null
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return secondary owner declared by @MethodOwner or null
+     */
+    public String getSecondaryOwner() {
+        return secondaryOwner;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getAnnotation(Class<A> annotationClass) {
+        return (A) annotations.get(annotationClass);
+    }
+
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.tag;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * TestMethodMetadataIndex - suite level index of test methods metadata. Annotations of every method are resolved only
+ * once and shared by all its invocations.
+ */
+public class TestMethodMetadataIndex {
+
+    private static final Map<Method, TestMethodMetadata> INDEX = new ConcurrentHashMap<Method, TestMethodMetadata>();
+
+    private TestMethodMetadataIndex() {
+    }
+
+    /**
+     * Resolves metadata for all suite methods in advance.
+     * 
+     * @param methods ITestNGMethod...
+     */
+    public static void index(Iterable<ITestNGMethod> methods) {
+        for (ITestNGMethod method : methods) {
+            get(method);
+        }
+    }
+
+    public static TestMethodMetadata get(ITestResult result) {
+        return get(result.getMethod());
+    }
+
+    public static TestMethodMetadata get(ITestNGMethod testMethod) {
+        if (testMethod == null || testMethod.getConstructorOrMethod() == null) {
+            return TestMethodMetadata.EMPTY;
+        }
+        return get(testMethod.getConstructorOrMethod().getMethod());
+    }
+
+    public static TestMethodMetadata get(Method method) {
+        if (method == null) {
+            return TestMethodMetadata.EMPTY;
+        }
+        return INDEX.computeIfAbsent(method, TestMethodMetadata::new);
+    }
+
+}
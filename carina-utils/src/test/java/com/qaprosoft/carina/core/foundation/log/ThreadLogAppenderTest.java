@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ThreadLogAppenderTest {
+    private static final Logger LOGGER = Logger.getLogger(ThreadLogAppenderTest.class);
+
+    private static final int THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 10000;
+
+    private File baseDir;
+
+    @BeforeMethod
+    public void createBaseDir() throws IOException {
+        baseDir = Files.createTempDirectory("test-logs").toFile();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeBaseDir() {
+        FileUtils.deleteQuietly(baseDir);
+    }
+
+    @Test
+    public void testParallelLoggingThroughput() throws Exception {
+        ThreadLogAppender appender = new TestThreadLogAppender(baseDir, 150 * 1024 * 1024);
+        // messages go through the same path as in tests: Logger -> AppenderSkeleton.doAppend
+        Logger logger = createLogger("throughput", appender);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<File>> tasks = new ArrayList<Callable<File>>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < MESSAGES_PER_THREAD; j++) {
+                    logger.info("message " + j);
+                }
+                return new File(baseDir, Thread.currentThread().getName());
+            });
+        }
+
+        long start = System.nanoTime();
+        List<File> testDirs = new ArrayList<File>();
+        for (Future<File> future : executor.invokeAll(tasks)) {
+            testDirs.add(future.get());
+        }
+        long logged = System.nanoTime() - start;
+        appender.close();
+        long written = System.nanoTime() - start;
+        executor.shutdown();
+        logger.removeAllAppenders();
+
+        long messages = (long) THREADS * MESSAGES_PER_THREAD;
+        LOGGER.info(String.format("ThreadLogAppender: %d messages from %d threads logged in %d ms (%d msg/s), written in %d ms",
+                messages, THREADS, logged / 1000000, messages * 1000000000L / Math.max(logged, 1), written / 1000000));
+
+        for (File testDir : testDirs) {
+            List<String> lines = FileUtils.readLines(new File(testDir, "test.log"), StandardCharsets.UTF_8);
+            Assert.assertEquals(lines.size(), MESSAGES_PER_THREAD, "Incorrect number of lines in " + testDir);
+            Assert.assertTrue(lines.get(0).endsWith("message 0"), "Unexpected first line: " + lines.get(0));
+            Assert.assertTrue(lines.get(MESSAGES_PER_THREAD - 1).endsWith("message " + (MESSAGES_PER_THREAD - 1)),
+                    "Messages order is broken");
+        }
+    }
+
+    @Test
+    public void testLogFileSizeLimit() throws IOException {
+        ThreadLogAppender appender = new TestThreadLogAppender(baseDir, 1024);
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event("message which should not exceed limit " + i));
+        }
+        File testDir = new File(baseDir, Thread.currentThread().getName());
+        appender.close(testDir);
+
+        String log = FileUtils.readFileToString(new File(testDir, "test.log"), StandardCharsets.UTF_8);
+        Assert.assertTrue(log.contains("test Log file size exceeded core limit"), "Size limit notice is absent");
+        Assert.assertFalse(log.contains("limit 99"), "Messages after limit were written");
+        Assert.assertTrue(log.length() < 1024 + 100, "Log file is too big: " + log.length());
+    }
+
+    @Test
+    public void testCloseStopsWriter() throws IOException {
+        ThreadLogAppender appender = new TestThreadLogAppender(baseDir, 1024 * 1024);
+        appender.doAppend(event("before close"));
+        Assert.assertTrue(isWriterAlive(), "Writer thread is not started");
+
+        appender.close();
+        Assert.assertFalse(isWriterAlive(), "Writer thread is not stopped on close");
+
+        // log file is reopened and writer is started again on the next message
+        appender.doAppend(event("after close"));
+        appender.close();
+        Assert.assertFalse(isWriterAlive(), "Writer thread is not stopped on close");
+
+        File testLog = new File(new File(baseDir, Thread.currentThread().getName()), "test.log");
+        List<String> lines = FileUtils.readLines(testLog, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.size(), 2, "Incorrect number of lines in " + testLog);
+        Assert.assertTrue(lines.get(1).endsWith("after close"), "Unexpected last line: " + lines.get(1));
+    }
+
+    private static boolean isWriterAlive() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("ThreadLogAppender-writer".equals(thread.getName()) && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Logger createLogger(String name, ThreadLogAppender appender) {
+        Logger logger = Logger.getLogger(ThreadLogAppenderTest.class.getName() + "." + name);
+        logger.setAdditivity(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static LoggingEvent event(String message) {
+        return new LoggingEvent(ThreadLogAppenderTest.class.getName(), LOGGER, Level.INFO, message, null);
+    }
+
+    private static class TestThreadLogAppender extends ThreadLogAppender {
+        private final File baseDir;
+        private final long maxLogFileSize;
+
+        private TestThreadLogAppender(File baseDir, long maxLogFileSize) {
+            this.baseDir = baseDir;
+            this.maxLogFileSize = maxLogFileSize;
+        }
+
+        @Override
+        protected File getTestLogFile() {
+            File testDir = new File(baseDir, Thread.currentThread().getName());
+            testDir.mkdirs();
+            return new File(testDir, "test.log");
+        }
+
+        @Override
+        protected long getMaxLogFileSize() {
+            return maxLogFileSize;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.android;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.AdbClient;
+
+public class AdbClientTest {
+    private static final String SERIAL = "emulator-5554";
+
+    private FakeAdbServer server;
+    private AdbClient client;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAdbServer(SERIAL);
+        client = new AdbClient("127.0.0.1", server.getPort());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        server.stop();
+    }
+
+    @Test
+    public void testShell() throws IOException {
+        server.addShellResponse("pm list packages", "package:com.android.settings\npackage:com.qaprosoft.app\n");
+        List<String> output = client.execute(new String[] { "adb", "-s", SERIAL, "shell", "pm", "list", "packages" });
+        Assert.assertEquals(output, Arrays.asList("package:com.android.settings", "package:com.qaprosoft.app"));
+    }
+
+    @Test
+    public void testLogcatDump() throws IOException {
+        server.addShellResponse("logcat -d", "line1\nline2\n");
+        Assert.assertEquals(client.execute(new String[] { "adb", "-s", SERIAL, "logcat", "-d" }), Arrays.asList("line1", "line2"));
+    }
+
+    @Test
+    public void testUnknownDevice() {
+        try {
+            client.shell("unknown", "ls");
+            Assert.fail("Unknown device is not reported");
+        } catch (IOException e) {
+            Assert.assertTrue(e instanceof AdbClient.AdbServerException, "Unexpected error: " + e);
+            Assert.assertFalse(AdbClient.isConnectionError(e));
+        }
+    }
+
+    @Test
+    public void testNotSupportedCommand() throws IOException {
+        Assert.assertNull(client.execute(new String[] { "adb", "devices" }));
+        Assert.assertNull(client.execute(new String[] { "lsof", "-ti", ":4444" }));
+    }
+
+    @Test
+    public void testPullAndPush() throws IOException {
+        byte[] content = new byte[150000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        server.putFile("/sdcard/video.mp4", content);
+        File local = File.createTempFile("adb", ".mp4");
+        local.deleteOnExit();
+
+        client.execute(new String[] { "adb", "-s", SERIAL, "pull", "/sdcard/video.mp4", local.getAbsolutePath() });
+        Assert.assertEquals(Files.readAllBytes(local.toPath()), content);
+
+        client.push(SERIAL, local, "/sdcard/copy.mp4");
+        Assert.assertEquals(server.getFile("/sdcard/copy.mp4"), content);
+    }
+
+    @Test
+    public void testPullFallback() throws IOException {
+        File local = File.createTempFile("adb", ".log");
+        local.delete();
+
+        // sync service fails for directory or missing file so adb process should be used
+        Assert.assertNull(client.execute(new String[] { "adb", "-s", SERIAL, "pull", "/sdcard/logs", local.getAbsolutePath() }));
+        Assert.assertFalse(local.exists(), "Partial file is not removed");
+
+        Assert.assertNull(client.execute(new String[] { "adb", "-s", SERIAL, "pull", "/sdcard/logs/", local.getAbsolutePath() }));
+    }
+
+    @Test
+    public void testInstall() throws IOException {
+        File apk = File.createTempFile("app", ".apk");
+        apk.deleteOnExit();
+        Files.write(apk.toPath(), "apk".getBytes(StandardCharsets.UTF_8));
+        String remotePath = "/data/local/tmp/" + apk.getName();
+        server.addShellResponse("pm install -r " + remotePath, "Success\n");
+
+        List<String> output = client.execute(new String[] { "adb", "-s", SERIAL, "install", "-r", apk.getAbsolutePath() });
+        Assert.assertEquals(output, Arrays.asList("Success"));
+        Assert.assertTrue(server.getShellCommands().contains("rm " + remotePath), "Temporary apk is not removed");
+    }
+
+    @Test
+    public void testServerNotAvailable() throws IOException {
+        AdbClient offline = new AdbClient("127.0.0.1", 1);
+        try {
+            offline.shell(SERIAL, "ls");
+            Assert.fail("Connection error is not reported");
+        } catch (IOException e) {
+            Assert.assertTrue(AdbClient.isConnectionError(e), "Unexpected error: " + e);
+        }
+    }
+}
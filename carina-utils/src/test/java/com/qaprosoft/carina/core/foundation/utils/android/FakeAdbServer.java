@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.android;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process adb server stand-in which supports host:transport, shell: and sync: (RECV/SEND) services for a single
+ * device.
+ */
+public class FakeAdbServer {
+
+    private final ServerSocket serverSocket;
+    private final String serial;
+    private final Map<String, String> shellResponses = new ConcurrentHashMap<String, String>();
+    private final Map<String, byte[]> files = new ConcurrentHashMap<String, byte[]>();
+    private final List<String> shellCommands = new CopyOnWriteArrayList<String>();
+
+    public FakeAdbServer(String serial) throws IOException {
+        this.serial = serial;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread handler = new Thread(() -> handle(socket));
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    // server stopped
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void addShellResponse(String command, String output) {
+        shellResponses.put(command, output);
+    }
+
+    public void putFile(String path, byte[] content) {
+        files.put(path, content);
+    }
+
+    public byte[] getFile(String path) {
+        return files.get(path);
+    }
+
+    public List<String> getShellCommands() {
+        return shellCommands;
+    }
+
+    public void stop() throws IOException {
+        serverSocket.close();
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket) {
+            DataInputStream in = new DataInputStream(s.getInputStream());
+            OutputStream out = s.getOutputStream();
+            while (true) {
+                String service = readRequest(in);
+                if (service.equals("host:transport-any") || service.equals("host:transport:" + serial)) {
+                    out.write(ascii("OKAY"));
+                } else if (service.startsWith("host:transport:")) {
+                    String msg = "device '" + service.substring("host:transport:".length()) + "' not found";
+                    out.write(ascii("FAIL" + String.format("%04x", msg.length()) + msg));
+                    return;
+                } else if (service.startsWith("shell:")) {
+                    String command = service.substring("shell:".length());
+                    shellCommands.add(command);
+                    out.write(ascii("OKAY"));
+                    out.write(shellResponses.getOrDefault(command, "").getBytes(StandardCharsets.UTF_8));
+                    return;
+                } else if (service.equals("sync:")) {
+                    out.write(ascii("OKAY"));
+                    sync(in, out);
+                    return;
+                } else {
+                    String msg = "unknown service " + service;
+                    out.write(ascii("FAIL" + String.format("%04x", msg.length()) + msg));
+                    return;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // client disconnected
+        }
+    }
+
+    private void sync(DataInputStream in, OutputStream out) throws IOException {
+        while (true) {
+            String id = readId(in);
+            byte[] data = new byte[readIntLE(in)];
+            in.readFully(data);
+            String path = new String(data, StandardCharsets.UTF_8);
+            if ("RECV".equals(id)) {
+                byte[] content = files.get(path);
+                if (content == null) {
+                    String msg = "No such file or directory";
+                    out.write(ascii("FAIL"));
+                    writeIntLE(out, msg.length());
+                    out.write(ascii(msg));
+                } else {
+                    for (int offset = 0; offset < content.length; offset += 1000) {
+                        int length = Math.min(1000, content.length - offset);
+                        out.write(ascii("DATA"));
+                        writeIntLE(out, length);
+                        out.write(content, offset, length);
+                    }
+                    out.write(ascii("DONE"));
+                    writeIntLE(out, 0);
+                }
+            } else if ("SEND".equals(id)) {
+                String remotePath = path.substring(0, path.lastIndexOf(','));
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                while (true) {
+                    String chunkId = readId(in);
+                    int length = readIntLE(in);
+                    if ("DONE".equals(chunkId)) {
+                        break;
+                    }
+                    byte[] chunk = new byte[length];
+                    in.readFully(chunk);
+                    content.write(chunk);
+                }
+                files.put(remotePath, content.toByteArray());
+                out.write(ascii("OKAY"));
+                writeIntLE(out, 0);
+            } else {
+                // QUIT
+                return;
+            }
+            out.flush();
+        }
+    }
+
+    private static String readRequest(DataInputStream in) throws IOException {
+        byte[] length = new byte[4];
+        in.readFully(length);
+        byte[] service = new byte[Integer.parseInt(new String(length, StandardCharsets.US_ASCII), 16)];
+        in.readFully(service);
+        return new String(service, StandardCharsets.UTF_8);
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        byte[] id = new byte[4];
+        in.readFully(id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+
+    private static int readIntLE(DataInputStream in) throws IOException {
+        byte[] b = new byte[4];
+        in.readFully(b);
+        return (b[0] & 0xff) | (b[1] & 0xff) << 8 | (b[2] & 0xff) << 16 | (b[3] & 0xff) << 24;
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(new byte[] { (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24) });
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.android;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.Notification;
+import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.NotificationParser;
+import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.NotificationTracker;
+
+public class NotificationParserTest {
+
+    private static final String DUMP = "Current Notification Manager state:\n"
+            + "  Notification List:\n"
+            + "    NotificationRecord(0x0a3c5f2a: pkg=com.android.systemui user=UserHandle{0} id=1 tag=null importance=2)\n"
+            + "      uid=10021 userId=0\n"
+            + "      tickerText=USB debugging connected\n"
+            + "    NotificationRecord(0x0b1d6e3c: pkg=com.example.app user=UserHandle{0} id=7 tag=null importance=3)\n"
+            + "      tickerText=New message\n";
+
+    @Test
+    public void testParse() throws IOException {
+        List<Notification> notifications = NotificationParser.parse(new ByteArrayInputStream(DUMP.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(notifications.size(), 2);
+        Assert.assertEquals(notifications.get(0).getNotificationId(), "0x0a3c5f2a");
+        Assert.assertEquals(notifications.get(0).getNotificationPkg(), "com.android.systemui");
+        Assert.assertEquals(notifications.get(0).getNotificationText(), "USB debugging connected");
+        Assert.assertEquals(notifications.get(1).getNotificationPkg(), "com.example.app");
+        Assert.assertEquals(notifications.get(1).getNotificationText(), "New message");
+    }
+
+    @Test
+    public void testTrackNewNotifications() {
+        NotificationTracker tracker = new NotificationTracker(NotificationParser.parse(Arrays.asList(DUMP.split("\n"))));
+
+        String updated = DUMP + "    NotificationRecord(0x0c2e7f4d: pkg=com.example.app user=UserHandle{0} id=8 tag=null importance=3)\n"
+                + "      tickerText=Second message\n";
+        List<Notification> added = tracker.update(NotificationParser.parse(Arrays.asList(updated.split("\n"))));
+        Assert.assertEquals(added.size(), 1);
+        Assert.assertEquals(added.get(0).getNotificationText(), "Second message");
+
+        Assert.assertTrue(tracker.update(NotificationParser.parse(Arrays.asList(updated.split("\n")))).isEmpty());
+    }
+
+}
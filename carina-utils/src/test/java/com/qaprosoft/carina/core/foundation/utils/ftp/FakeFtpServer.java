@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.ftp;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process FTP server stand-in which supports login, binary type, passive mode and STOR command.
+ */
+public class FakeFtpServer {
+
+    private final ServerSocket serverSocket;
+    private final String user;
+    private final String password;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<String, byte[]>();
+    private final List<Socket> connections = new CopyOnWriteArrayList<Socket>();
+    private final AtomicInteger logins = new AtomicInteger();
+
+    public FakeFtpServer(String user, String password) throws IOException {
+        this.user = user;
+        this.password = password;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.add(socket);
+                    Thread handler = new Thread(() -> handle(socket));
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    // server stopped
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public byte[] getFile(String name) {
+        return files.get(name);
+    }
+
+    public int getLogins() {
+        return logins.get();
+    }
+
+    /**
+     * Closes all control connections, e.g. to emulate server side idle timeout.
+     */
+    public void dropConnections() {
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        connections.clear();
+    }
+
+    public void stop() {
+        closeQuietly(serverSocket);
+        dropConnections();
+    }
+
+    private void handle(Socket socket) {
+        ServerSocket passive = null;
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 Fake FTP server ready");
+            String requestedUser = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                int space = line.indexOf(' ');
+                String command = (space > 0 ? line.substring(0, space) : line).toUpperCase();
+                String argument = space > 0 ? line.substring(space + 1) : "";
+                switch (command) {
+                case "USER":
+                    requestedUser = argument;
+                    reply(out, "331 Password required");
+                    break;
+                case "PASS":
+                    if (user.equals(requestedUser) && password.equals(argument)) {
+                        logins.incrementAndGet();
+                        reply(out, "230 Logged in");
+                    } else {
+                        reply(out, "530 Login incorrect");
+                    }
+                    break;
+                case "TYPE":
+                case "NOOP":
+                    reply(out, "200 OK");
+                    break;
+                case "PASV":
+                    closeQuietly(passive);
+                    passive = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+                    int port = passive.getLocalPort();
+                    reply(out, String.format("227 Entering Passive Mode (127,0,0,1,%d,%d)", port >> 8, port & 0xff));
+                    break;
+                case "STOR":
+                    if (passive == null) {
+                        reply(out, "425 Use PASV first");
+                        break;
+                    }
+                    reply(out, "150 Opening BINARY mode data connection");
+                    try (Socket data = passive.accept(); InputStream is = data.getInputStream()) {
+                        ByteArrayOutputStream content = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[8192];
+                        int read;
+                        while ((read = is.read(buffer)) != -1) {
+                            content.write(buffer, 0, read);
+                        }
+                        files.put(argument, content.toByteArray());
+                    }
+                    closeQuietly(passive);
+                    passive = null;
+                    reply(out, "226 Transfer complete");
+                    break;
+                case "QUIT":
+                    reply(out, "221 Bye");
+                    return;
+                default:
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // connection closed
+        } finally {
+            closeQuietly(passive);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void reply(OutputStream out, String message) throws IOException {
+        out.write((message + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.ftp;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class FtpUtilsTest {
+
+    private static final String HOST = "127.0.0.1";
+    private static final String USER = "carina";
+    private static final String PASSWORD = "secret";
+
+    private FakeFtpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeFtpServer(USER, PASSWORD);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        FtpClientPool.clear();
+        server.stop();
+    }
+
+    @Test
+    public void testUploadBase64Data() {
+        byte[] video = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(video);
+
+        FtpUtils.uploadData(HOST, server.getPort(), USER, PASSWORD, Base64.getEncoder().encodeToString(video), "video.mp4");
+
+        Assert.assertEquals(server.getFile("video.mp4"), video, "Uploaded content differs from decoded data");
+    }
+
+    @Test(dependsOnMethods = "testUploadBase64Data")
+    public void testClientIsReused() {
+        int logins = server.getLogins();
+        for (int i = 0; i < 3; i++) {
+            FtpUtils.uploadData(HOST, server.getPort(), USER, PASSWORD, Base64.getEncoder().encodeToString(new byte[] { (byte) i }),
+                    "video" + i + ".mp4");
+            Assert.assertEquals(server.getFile("video" + i + ".mp4"), new byte[] { (byte) i });
+        }
+        Assert.assertEquals(server.getLogins(), logins, "Pooled FTP client wasn't reused");
+    }
+
+    @Test(dependsOnMethods = "testClientIsReused")
+    public void testClosedClientIsReplaced() {
+        server.dropConnections();
+        int logins = server.getLogins();
+
+        FtpUtils.uploadData(HOST, server.getPort(), USER, PASSWORD, Base64.getEncoder().encodeToString(new byte[] { 1, 2, 3 }),
+                "reconnect.mp4");
+
+        Assert.assertEquals(server.getFile("reconnect.mp4"), new byte[] { 1, 2, 3 });
+        Assert.assertEquals(server.getLogins(), logins + 1, "New FTP client wasn't created");
+    }
+
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.resources;
+
+import java.util.Arrays;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ResourceBundleIndexTest {
+
+    @Test
+    public void testFirstBundleWins() {
+        ResourceBundleIndex index = ResourceBundleIndex.build(
+                Arrays.asList(new Bundle(Locale.US, "title", "Home"), new Bundle(Locale.US, "title", "Start"),
+                        new Bundle(Locale.GERMANY, "title", "Startseite")),
+                Locale::toString, value -> value);
+
+        Assert.assertEquals(index.get("title", Locale.US), "Home");
+        Assert.assertEquals(index.get("title", Locale.GERMANY), "Startseite");
+        Assert.assertNull(index.get("title", Locale.FRANCE));
+        Assert.assertNull(index.get("absent", Locale.US));
+    }
+
+    @Test
+    public void testLanguageKeyAndConverter() {
+        ResourceBundleIndex index = ResourceBundleIndex.build(Arrays.asList(new Bundle(Locale.GERMANY, "title", "Start")),
+                Locale::getLanguage, String::toUpperCase);
+
+        Assert.assertEquals(index.get("title", Locale.GERMAN), "START");
+        Assert.assertEquals(index.size(), 1);
+    }
+
+    @Test
+    public void testLocalesAreCached() {
+        Assert.assertSame(LocaleReader.getLocales("en_US,de_DE"), LocaleReader.getLocales("en_US,de_DE"));
+        Assert.assertEquals(LocaleReader.getLocales("en_US,de_DE"), Arrays.asList(Locale.US, Locale.GERMANY));
+    }
+
+    private static class Bundle extends ListResourceBundle {
+        private final Locale locale;
+        private final Object[][] contents;
+
+        private Bundle(Locale locale, String key, String value) {
+            this.locale = locale;
+            this.contents = new Object[][] { { key, value } };
+        }
+
+        @Override
+        public Locale getLocale() {
+            return locale;
+        }
+
+        @Override
+        protected Object[][] getContents() {
+            return contents;
+        }
+    }
+
+}
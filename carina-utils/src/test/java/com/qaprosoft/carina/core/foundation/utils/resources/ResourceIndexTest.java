@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.resources;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ResourceIndexTest {
+
+    private File root;
+    private File cacheFile;
+
+    @BeforeMethod
+    public void createClasspath() throws IOException {
+        root = Files.createTempDirectory("classpath").toFile();
+        cacheFile = new File(Files.createTempDirectory("index").toFile(), "resource-index.idx");
+        FileUtils.writeStringToFile(new File(root, "L10N/messages.properties"), "key=value", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(root, "L10N/messages_de.properties"), "key=wert", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(root, "I18N/labels/messages.properties"), "key=value", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(root, "_config.properties"), "", StandardCharsets.UTF_8);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeClasspath() {
+        FileUtils.deleteQuietly(root);
+        FileUtils.deleteQuietly(cacheFile.getParentFile());
+    }
+
+    @Test
+    public void testScanAndFilter() {
+        ResourceIndex index = ResourceIndex.load(getRoots(), cacheFile);
+
+        Assert.assertEquals(index.size(), 4);
+        Assert.assertEquals(index.getResourceURLs(u -> u.getPath().contains("L10N")).size(), 2);
+        Assert.assertEquals(index.getResourceURLs(null).size(), 4);
+        Assert.assertTrue(cacheFile.exists(), "Resource index wasn't persisted");
+    }
+
+    @Test
+    public void testCacheIsReused() {
+        ResourceIndex.load(getRoots(), cacheFile);
+        // remove file but keep directory timestamp: index should be taken from the cache without scanning
+        File dir = new File(root, "I18N/labels");
+        long lastModified = dir.lastModified();
+        new File(dir, "messages.properties").delete();
+        dir.setLastModified(lastModified);
+
+        ResourceIndex cached = ResourceIndex.load(getRoots(), cacheFile);
+
+        Assert.assertEquals(cached.size(), 4);
+    }
+
+    @Test
+    public void testCacheIsRefreshedOnChanges() throws IOException {
+        ResourceIndex.load(getRoots(), cacheFile);
+        File dir = new File(root, "L10N");
+        long lastModified = dir.lastModified();
+        FileUtils.writeStringToFile(new File(dir, "messages_fr.properties"), "key=valeur", StandardCharsets.UTF_8);
+        // file systems with seconds precision
+        dir.setLastModified(lastModified + 2000);
+
+        ResourceIndex index = ResourceIndex.load(getRoots(), cacheFile);
+
+        Assert.assertEquals(index.size(), 5);
+        Assert.assertEquals(index.getResourceURLs(u -> u.getPath().contains("L10N")).size(), 3);
+    }
+
+    private List<File> getRoots() {
+        return Collections.singletonList(root);
+    }
+
+}
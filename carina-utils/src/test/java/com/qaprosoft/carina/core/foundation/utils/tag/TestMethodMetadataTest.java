@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.tag;
+
+import java.lang.reflect.Method;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.ownership.MethodOwner;
+
+public class TestMethodMetadataTest {
+
+    @Test
+    public void testMetadataIsResolvedOnce() throws NoSuchMethodException {
+        Method method = Sample.class.getMethod("annotated");
+        TestMethodMetadata metadata = TestMethodMetadataIndex.get(method);
+
+        Assert.assertSame(TestMethodMetadataIndex.get(method), metadata);
+        Assert.assertEquals(metadata.getPriority(), "P1");
+        Assert.assertEquals(metadata.getOwner(), "owner");
+        Assert.assertEquals(metadata.getSecondaryOwner(), "second");
+        Assert.assertEquals(metadata.getTagPairs().size(), 3);
+        // forbidden tag names are excluded from tags map only
+        Assert.assertEquals(metadata.getTags().size(), 2);
+        Assert.assertEquals(metadata.getTags().get("feature"), "reg");
+        Assert.assertNotNull(metadata.getAnnotation(TestPriority.class));
+    }
+
+    @Test
+    public void testNotAnnotatedMethod() throws NoSuchMethodException {
+        TestMethodMetadata metadata = TestMethodMetadataIndex.get(Sample.class.getMethod("plain"));
+
+        Assert.assertNull(metadata.getPriority());
+        Assert.assertNull(metadata.getOwner());
+        Assert.assertTrue(metadata.getTags().isEmpty());
+        Assert.assertTrue(TestMethodMetadataIndex.get((Method) null).getTagPairs().isEmpty());
+    }
+
+    public static class Sample {
+
+        @TestPriority(Priority.P1)
+        @MethodOwner(owner = "owner", secondaryOwner = "second")
+        @TestTag(name = "feature", value = "reg")
+        @TestTag(name = "area", value = "login")
+        @TestTag(name = "priority", value = "high")
+        public void annotated() {
+        }
+
+        public void plain() {
+        }
+    }
+
+}
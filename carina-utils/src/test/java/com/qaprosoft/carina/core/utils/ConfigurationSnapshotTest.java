@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.Configuration;
+import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
+import com.qaprosoft.carina.core.foundation.utils.ConfigurationSnapshot;
+import com.qaprosoft.carina.core.foundation.utils.R;
+
+/**
+ * Tests for {@link ConfigurationSnapshot}
+ */
+public class ConfigurationSnapshotTest {
+    @Test
+    public void testSnapshotIsReused() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.get();
+        Assert.assertSame(ConfigurationSnapshot.get(), snapshot);
+        Assert.assertEquals(snapshot.getParameters().size(), Parameter.values().length);
+    }
+
+    @Test
+    public void testSnapshotIsRefreshedOnChange() {
+        R.CONFIG.put("env", "QA");
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.get();
+        Assert.assertEquals(snapshot.get(Parameter.ENV), "QA");
+
+        R.CONFIG.put("env", "STG");
+        ConfigurationSnapshot updated = ConfigurationSnapshot.get();
+        Assert.assertNotSame(updated, snapshot);
+        Assert.assertEquals(updated.get(Parameter.ENV), "STG");
+        Assert.assertEquals(updated.get(Parameter.URL), Configuration.get(Parameter.URL));
+    }
+
+    @Test
+    public void testCapabilities() {
+        R.CONFIG.put("capabilities.snapshotName", "${env}");
+        R.CONFIG.put("env", "PROD");
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.get();
+        Assert.assertEquals(snapshot.getCapabilities().get("capabilities.snapshotName"), "PROD");
+        Assert.assertTrue(Configuration.asString().contains("capabilities.snapshotName=PROD"));
+    }
+}
@@ -21,7 +21,6 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -33,12 +32,15 @@ import org.apache.log4j.Logger;
 import com.qaprosoft.carina.core.foundation.report.ReportContext;
 import com.qaprosoft.carina.core.foundation.utils.R;
 import com.qaprosoft.carina.core.foundation.utils.android.DeviceTimeZone.TimeFormat;
+import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.AdbClient;
 import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.AdbExecutor;
 import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.CmdLine;
 import com.qaprosoft.carina.core.foundation.utils.common.CommonUtils;
 import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType;
 import com.qaprosoft.carina.core.foundation.utils.mobile.MobileUtils;
 import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.Notification;
+import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.NotificationParser;
+import com.qaprosoft.carina.core.foundation.utils.mobile.notifications.android.NotificationTracker;
 import com.qaprosoft.carina.core.foundation.webdriver.IDriverPool;
 import com.qaprosoft.carina.core.foundation.webdriver.Screenshot;
 import com.qaprosoft.carina.core.gui.mobile.devices.android.phone.pages.fakegps.FakeGpsPage;
@@ -54,9 +56,11 @@ public class AndroidService implements IDriverPool {
 
     protected static final int INIT_TIMEOUT = 20;
 
-    private final Pattern NOTIFICATION_PATTERN = Pattern.compile(".* NotificationRecord.*pkg=(.*) user");
+    private static final Pattern FOCUSED_PACKAGE_PATTERN = Pattern.compile(
+            ".*?((?:[a-z][a-z\\.\\d\\-]+)\\.(?:[a-z][a-z\\-]+))(?![\\w\\.])", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
-    private final Pattern NOTIFICATION_TEXT_PATTERN = Pattern.compile(".*tickerText=(.*)");
+    private static final Pattern FOCUSED_ACTIVITY_PATTERN = Pattern.compile(
+            ".*?\\/((?:[a-z][a-z\\.\\d\\-]+)\\.(?:[a-z][a-z\\-\\_]+))(?![\\w\\.])", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
     private final String TZ_CHANGE_APP_PATH = "app/TimeZone_Changer.apk";
     private final String TZ_CHANGE_APP_ACTIVITY = "com.futurek.android.tzc/com.futurek.android.tzc.MainActivity";
@@ -72,6 +76,8 @@ public class AndroidService implements IDriverPool {
 
     private AdbExecutor executor;
 
+    private AdbClient adbClient;
+
     public enum ChangeTimeZoneWorkflow {
         ADB(1), // 0b001
         SETTINGS(2), // 0b010
@@ -96,6 +102,7 @@ public class AndroidService implements IDriverPool {
 
     private AndroidService() {
         executor = new AdbExecutor();
+        adbClient = new AdbClient();
         baseInitCmd = executor.getDefaultCmd();
     }
 
@@ -264,18 +271,13 @@ public class AndroidService implements IDriverPool {
             String packageName = "";
             String activityName = "";
             String txt = getCurrentDeviceFocus();
-            String regEx1 = ".*?";
-            String regEx2 = "((?:[a-z][a-z\\.\\d\\-]+)\\.(?:[a-z][a-z\\-]+))(?![\\w\\.])";
-            Pattern pattern1 = Pattern.compile(regEx1 + regEx2, Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            Matcher matcher1 = pattern1.matcher(txt);
+            Matcher matcher1 = FOCUSED_PACKAGE_PATTERN.matcher(txt);
             if (matcher1.find()) {
                 packageName = matcher1.group(1);
             }
             LOGGER.info("Found package name for application in focus : " + packageName);
 
-            String regEx3 = "\\/((?:[a-z][a-z\\.\\d\\-]+)\\.(?:[a-z][a-z\\-\\_]+))(?![\\w\\.])";
-            Pattern pattern2 = Pattern.compile(regEx1 + regEx3, Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            Matcher matcher2 = pattern2.matcher(txt);
+            Matcher matcher2 = FOCUSED_ACTIVITY_PATTERN.matcher(txt);
             if (matcher2.find()) {
                 activityName = matcher2.group(1);
             }
@@ -375,47 +377,32 @@ public class AndroidService implements IDriverPool {
      * @return List of Notification
      */
     public List<Notification> getNotifications(boolean withLogger) {
-        String[] getNotificationsCmd = null;
         String deviceName = IDriverPool.getDefaultDevice().getAdbName();
-        if (!deviceName.isEmpty()) {
-            getNotificationsCmd = CmdLine.insertCommandsAfter(baseInitCmd, "-s", deviceName, "shell", "dumpsys", "notification");
-        } else {
-            getNotificationsCmd = CmdLine.insertCommandsAfter(baseInitCmd, "shell", "dumpsys", "notification");
-        }
+        List<Notification> resultList = null;
 
-        LOGGER.info("getNotifications cmd was built: " + CmdLine.arrayToString(getNotificationsCmd));
-
-        // TODO: migrate to executeAbdCommand later
-        List<Notification> resultList = new ArrayList<Notification>();
-        List<String> notificationsOutput = executor.execute(getNotificationsCmd);
-        Notification notification = new Notification();
-        for (String output : notificationsOutput) {
-            boolean found = false;
+        // parse dumpsys output directly from adb server stream
+        try (InputStream stream = adbClient.shellStream(deviceName.isEmpty() ? null : deviceName, "dumpsys notification")) {
+            resultList = NotificationParser.parse(stream);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to stream dumpsys notification output, adb process will be used: " + e.getMessage());
+        }
 
-            Matcher matcher = NOTIFICATION_PATTERN.matcher(output);
-            while (matcher.find()) {
-                notification.setNotificationPkg(matcher.group(1));
-                if (withLogger)
-                    LOGGER.info(matcher.group(1));
-            }
-            Matcher matcher2 = NOTIFICATION_TEXT_PATTERN.matcher(output);
-            while (matcher2.find()) {
-                notification.setNotificationText(matcher2.group(1));
-                if (withLogger)
-                    LOGGER.info(matcher2.group(1));
-                found = true;
-            }
-            if (found) {
-                resultList.add(notification);
-                if (withLogger)
-                    LOGGER.info(notification);
-                notification = new Notification();
-                found = false;
+        if (resultList == null) {
+            String[] getNotificationsCmd = null;
+            if (!deviceName.isEmpty()) {
+                getNotificationsCmd = CmdLine.insertCommandsAfter(baseInitCmd, "-s", deviceName, "shell", "dumpsys", "notification");
+            } else {
+                getNotificationsCmd = CmdLine.insertCommandsAfter(baseInitCmd, "shell", "dumpsys", "notification");
             }
 
+            LOGGER.info("getNotifications cmd was built: " + CmdLine.arrayToString(getNotificationsCmd));
+            resultList = NotificationParser.parse(executor.execute(getNotificationsCmd));
         }
-        if (withLogger)
+
+        if (withLogger) {
+            resultList.forEach(LOGGER::info);
             LOGGER.info("Found: " + resultList.size() + " notifications.");
+        }
         return resultList;
     }
 
@@ -437,9 +424,11 @@ public class AndroidService implements IDriverPool {
      * @return boolean
      */
     public boolean isNotificationWithTextExist(String text) {
-        List<Notification> resultList = getNotifications(false);
+        return isNotificationWithTextExist(getNotifications(false), text);
+    }
 
-        for (Notification notify : resultList) {
+    private boolean isNotificationWithTextExist(List<Notification> notifications, String text) {
+        for (Notification notify : notifications) {
             if (notify.getNotificationText().contains(text)) {
                 LOGGER.info("Found '" + text + "' in notification '" + notify.getNotificationText() + "'.");
                 return true;
@@ -457,20 +446,23 @@ public class AndroidService implements IDriverPool {
      * @return boolean
      */
     public boolean waitUntilNewNotificationAppear(String text, long timeout) {
-        // boolean found = false;
-        int base = notificationsCount();
-        int time = 0;
-        boolean foundText = isNotificationWithTextExist(text);
+        List<Notification> notifications = getNotifications(false);
+        if (isNotificationWithTextExist(notifications, text)) {
+            return true;
+        }
 
-        int actual = notificationsCount();
-        while (actual <= base && ++time < timeout && !foundText) {
-            LOGGER.info("Wait for notification. Second: " + time + ". Actual number:" + actual);
+        // single dumpsys per poll and only new entries are verified
+        NotificationTracker tracker = new NotificationTracker(notifications);
+        int time = 0;
+        while (++time < timeout) {
             CommonUtils.pause(1);
-            actual = notificationsCount();
-            foundText = isNotificationWithTextExist(text);
+            List<Notification> added = tracker.update(getNotifications(false));
+            LOGGER.info("Wait for notification. Second: " + time + ". New notifications: " + added.size());
+            if (isNotificationWithTextExist(added, text)) {
+                return true;
+            }
         }
-
-        return (foundText);
+        return false;
     }
 
     /**
@@ -480,9 +472,11 @@ public class AndroidService implements IDriverPool {
      * @return boolean
      */
     public boolean isNotificationPkgExist(String text) {
-        List<Notification> resultList = getNotifications(false);
+        return isNotificationPkgExist(getNotifications(false), text);
+    }
 
-        for (Notification notify : resultList) {
+    private boolean isNotificationPkgExist(List<Notification> notifications, String text) {
+        for (Notification notify : notifications) {
             if (notify.getNotificationPkg().contains(text)) {
                 LOGGER.info("Found '" + text + "' in notification packages '" + notify.getNotificationPkg() + "' with text '"
                         + notify.getNotificationText() + "'.");
@@ -501,20 +495,22 @@ public class AndroidService implements IDriverPool {
      * @return boolean
      */
     public boolean waitUntilNewNotificationPackageAppear(String pkg, long timeout) {
-        // boolean found = false;
-        int base = notificationsCount();
-        int time = 0;
-        boolean foundText = isNotificationPkgExist(pkg);
+        List<Notification> notifications = getNotifications(false);
+        if (isNotificationPkgExist(notifications, pkg)) {
+            return true;
+        }
 
-        int actual = notificationsCount();
-        while (actual <= base && ++time < timeout && !foundText) {
-            LOGGER.info("Wait for notification. Second: " + time + ". Actual number:" + actual);
+        NotificationTracker tracker = new NotificationTracker(notifications);
+        int time = 0;
+        while (++time < timeout) {
             CommonUtils.pause(1);
-            actual = notificationsCount();
-            foundText = isNotificationPkgExist(pkg);
+            List<Notification> added = tracker.update(getNotifications(false));
+            LOGGER.info("Wait for notification. Second: " + time + ". New notifications: " + added.size());
+            if (isNotificationPkgExist(added, pkg)) {
+                return true;
+            }
         }
-
-        return (foundText);
+        return false;
     }
 
     /**
@@ -20,11 +20,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.reflections.Reflections;
 
 import com.qaprosoft.carina.core.foundation.exception.RequiredCtorNotFoundException;
 import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType.Type;
@@ -34,8 +32,6 @@ import com.qaprosoft.carina.core.gui.AbstractPage;
 
 public class CustomTypePageFactory implements IDriverPool {
 
-    private static final String VERSION_SPLITTER = "\\.";
-
     private static final String INTEGER_STR = "class java.lang.Integer";
     private static final String INT_STR = "int";
 
@@ -45,12 +41,6 @@ public class CustomTypePageFactory implements IDriverPool {
     private static final String DOUBLE_OBJ_STR = "class java.lang.Double";
     private static final String DOUBLE_STR = "double";
 
-    private static Reflections reflections;
-
-    static {
-        reflections = new Reflections("");
-    }
-
     protected static final Logger LOGGER = Logger
             .getLogger(CustomTypePageFactory.class);
 
@@ -72,10 +62,6 @@ public class CustomTypePageFactory implements IDriverPool {
             throw new RuntimeException("Page isn't created. Driver isn't initialized.");
         }
 
-        Set<Class<? extends T>> setClasses = reflections
-                .getSubTypesOf(parentClass);
-        LOGGER.debug("Relatives classes count:" + setClasses.size());
-        Class<? extends T> versionClass = null, majorVersionClass = null, deviceClass = null, familyClass = null, requiredClass = null;
         Type screenType = IDriverPool.getDefaultDevice().getDeviceType();
 
         Device device = IDriverPool.getDefaultDevice();
@@ -84,67 +70,16 @@ public class CustomTypePageFactory implements IDriverPool {
         if (!device.getOsVersion().isEmpty()) {
             deviceVersion = device.getOsVersion();
         }
-        String majorVersionNumber = deviceVersion.split(VERSION_SPLITTER)[0];
-        LOGGER.debug("Major version of device OS: " + majorVersionNumber);
-        for (Class<? extends T> clazz : setClasses) {
-            if (clazz.getAnnotation(DeviceType.class) == null || clazz.getAnnotation(DeviceType.class).parentClass() != parentClass) {
-                LOGGER.debug(
-                        String.format("Removing as parentClass (%s) is not satisfied or due to absence of @DeviceType annotation on class: %s", parentClass.getName(), clazz.getName()));
-                continue;
-            }
-            DeviceType dt = clazz.getAnnotation(DeviceType.class);
-
-            LOGGER.debug(String.format("Expected screenType: %s, Actual screenType: %s", screenType, dt.pageType()));
-            if (dt.pageType().equals(screenType)) {
-                if (Arrays.asList(dt.version()).contains(deviceVersion)) {
-                    LOGGER.debug("Expected version: " + deviceVersion);
-                    LOGGER.debug("Actual versions: " + dt.version());
-                    versionClass = clazz;
-                    break;
-                }
-
-                for (String version : dt.version()) {
-                    if (version.split(VERSION_SPLITTER)[0].equals(majorVersionNumber)) {
-                        majorVersionClass = clazz;
-                        LOGGER.debug("Class was chosen by major version number of device");
-                        break;
-                    }
-                }
-
-                deviceClass = clazz;
-                continue;
-            }
-            if (dt.pageType().getFamily().equals(screenType.getFamily())) {
-                LOGGER.debug(String.format("Family class '%s' correspond to required page.", screenType.getFamily()));
-                familyClass = clazz;
-            }
-
-        }
-        Constructor<? extends T> ctor;
+        Class<? extends T> requiredClass = PageVariantIndex.resolve(parentClass, screenType, deviceVersion);
         try {
-            if (versionClass != null) {
-                LOGGER.debug("Instance by version and platform will be created.");
-                requiredClass = versionClass;
-            } else if (majorVersionClass != null) {
-                LOGGER.debug("Instance by major version and platform will be created.");
-                requiredClass = majorVersionClass;
-            } else if (deviceClass != null) {
-                LOGGER.debug("Instance by platform will be created.");
-                requiredClass = deviceClass;
-            } else if (familyClass != null) {
-                LOGGER.debug("Instance by family will be created.");
-                requiredClass = familyClass;
-            } else {
-                throw new RuntimeException(
-                        String.format("There is no any class that satisfy to required conditions: [parent class - %s], [device type - %s]",
-                                parentClass.getName(), screenType));
-            }
             // handle cases where we have only WebDriver as ctor parameter
             if (parameters.length == 0) {
                 parameters = new Object[] { driver };
             }
             LOGGER.debug("Invoking constructor for " + requiredClass);
-            ctor = getConstructorByParams(requiredClass, parameters);
+            Object[] ctorParameters = parameters;
+            Constructor<? extends T> ctor = PageVariantIndex.getConstructor(requiredClass, parameters,
+                    () -> getConstructorByParams(requiredClass, ctorParameters));
             return ctor.newInstance(parameters);
         } catch (InstantiationException | IllegalAccessException
                 | IllegalArgumentException | InvocationTargetException
@@ -5,14 +5,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.reflections.Reflections;
 
 import com.qaprosoft.carina.core.foundation.exception.RequiredCtorNotFoundException;
-import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType;
 import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType.Type;
 import com.qaprosoft.carina.core.foundation.webdriver.IDriverPool;
 import com.qaprosoft.carina.core.foundation.webdriver.device.Device;
@@ -31,8 +28,6 @@ public interface ICustomTypePageFactory extends IDriverPool {
     String DOUBLE_OBJ_STR = "class java.lang.Double";
     String DOUBLE_STR = "double";
 
-    Reflections REFLECTIONS = new Reflections("");
-
     Logger LOG = Logger.getLogger(CustomTypePageFactory.class);
 
     public default <T extends AbstractPage> T initPage(Class<T> parentClass, Object... parameters) {
@@ -46,9 +41,6 @@ public interface ICustomTypePageFactory extends IDriverPool {
             throw new RuntimeException("Page isn't created. Driver isn't initialized.");
         }
 
-        Set<Class<? extends T>> setClasses = REFLECTIONS.getSubTypesOf(parentClass);
-        LOG.debug("Relatives classes count:" + setClasses.size());
-        Class<? extends T> versionClass = null, majorVersionClass = null, deviceClass = null, familyClass = null, requiredClass = null;
         Type screenType = IDriverPool.getDefaultDevice().getDeviceType();
 
         Device device = IDriverPool.getDefaultDevice();
@@ -57,66 +49,17 @@ public interface ICustomTypePageFactory extends IDriverPool {
         if (!device.getOsVersion().isEmpty()) {
             deviceVersion = device.getOsVersion();
         }
-        String majorVersionNumber = deviceVersion.split(VERSION_SPLITTER)[0];
-        LOG.debug("Major version of device OS: " + majorVersionNumber);
-        for (Class<? extends T> clazz : setClasses) {
-            if (clazz.getAnnotation(DeviceType.class) == null || clazz.getAnnotation(DeviceType.class).parentClass() != parentClass) {
-                LOG.debug(String.format("Removing as parentClass (%s) is not satisfied or due to absence of @DeviceType annotation on class: %s",
-                        parentClass.getName(), clazz.getName()));
-                continue;
-            }
-            DeviceType dt = clazz.getAnnotation(DeviceType.class);
-
-            LOG.debug(String.format("Expected screenType: %s, Actual screenType: %s", screenType, dt.pageType()));
-            if (dt.pageType().equals(screenType)) {
-                if (Arrays.asList(dt.version()).contains(deviceVersion)) {
-                    LOG.debug("Expected version: " + deviceVersion);
-                    LOG.debug("Actual versions: " + dt.version());
-                    versionClass = clazz;
-                    break;
-                }
-
-                for (String version : dt.version()) {
-                    if (version.split(VERSION_SPLITTER)[0].equals(majorVersionNumber)) {
-                        majorVersionClass = clazz;
-                        LOG.debug("Class was chosen by major version number of device");
-                        break;
-                    }
-                }
-
-                deviceClass = clazz;
-                continue;
-            }
-            if (dt.pageType().getFamily().equals(screenType.getFamily())) {
-                LOG.debug(String.format("Family class '%s' correspond to required page.", screenType.getFamily()));
-                familyClass = clazz;
-            }
-
-        }
+        // page variants are indexed once per parent class and resolved once per device type and version
+        Class<? extends T> requiredClass = PageVariantIndex.resolve(parentClass, screenType, deviceVersion);
         try {
-            if (versionClass != null) {
-                LOG.debug("Instance by version and platform will be created.");
-                requiredClass = versionClass;
-            } else if (majorVersionClass != null) {
-                LOG.debug("Instance by major version and platform will be created.");
-                requiredClass = majorVersionClass;
-            } else if (deviceClass != null) {
-                LOG.debug("Instance by platform will be created.");
-                requiredClass = deviceClass;
-            } else if (familyClass != null) {
-                LOG.debug("Instance by family will be created.");
-                requiredClass = familyClass;
-            } else {
-                throw new RuntimeException(
-                        String.format("There is no any class that satisfy to required conditions: [parent class - %s], [device type - %s]",
-                                parentClass.getName(), screenType));
-            }
             // handle cases where we have only WebDriver as ctor parameter
             if (parameters.length == 0) {
                 parameters = new Object[] { driver };
             }
             LOG.debug("Invoking constructor for " + requiredClass);
-            Constructor<? extends T> requiredCtor = getConstructorByParams(requiredClass, parameters);
+            Object[] ctorParameters = parameters;
+            Constructor<? extends T> requiredCtor = PageVariantIndex.getConstructor(requiredClass, parameters,
+                    () -> getConstructorByParams(requiredClass, ctorParameters));
 
             return requiredCtor.newInstance(parameters);
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.factory;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+import org.reflections.Reflections;
+
+import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType.Type;
+
+/**
+ * PageVariantIndex - device specific page variants annotated with {@link DeviceType}. Classpath is scanned only on the
+ * first request, variants are collected once per parent class and resolved class is cached per device type and OS
+ * version.
+ */
+final class PageVariantIndex {
+    private static final Logger LOGGER = Logger.getLogger(PageVariantIndex.class);
+
+    private static final String VERSION_SPLITTER = "\\.";
+
+    private static final Map<Class<?>, List<Variant>> VARIANTS = new ConcurrentHashMap<Class<?>, List<Variant>>();
+
+    private static final Map<String, Class<?>> RESOLVED = new ConcurrentHashMap<String, Class<?>>();
+
+    private static final Map<String, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<String, Constructor<?>>();
+
+    private PageVariantIndex() {
+    }
+
+    // classpath is scanned on the first usage instead of class loading
+    private static class ReflectionsHolder {
+        private static final Reflections REFLECTIONS = new Reflections("");
+    }
+
+    private static final class Variant {
+        private final Class<?> clazz;
+        private final Type pageType;
+        private final Set<String> versions;
+        private final Set<String> majorVersions;
+
+        private Variant(Class<?> clazz, DeviceType deviceType) {
+            this.clazz = clazz;
+            this.pageType = deviceType.pageType();
+            this.versions = new HashSet<String>(Arrays.asList(deviceType.version()));
+            this.majorVersions = new HashSet<String>();
+            for (String version : deviceType.version()) {
+                majorVersions.add(version.split(VERSION_SPLITTER)[0]);
+            }
+        }
+    }
+
+    /**
+     * Resolves page class for the device using priority: exact OS version, major OS version, device type, device
+     * family.
+     *
+     * @param parentClass parent page class
+     * @param screenType device type
+     * @param deviceVersion device OS version
+     * @param <T> page type
+     * @return page class
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Class<? extends T> resolve(Class<T> parentClass, Type screenType, String deviceVersion) {
+        String key = parentClass.getName() + "|" + screenType + "|" + deviceVersion;
+        Class<?> requiredClass = RESOLVED.get(key);
+        if (requiredClass == null) {
+            requiredClass = find(parentClass, screenType, deviceVersion);
+            RESOLVED.put(key, requiredClass);
+        }
+        return (Class<? extends T>) requiredClass;
+    }
+
+    /**
+     * Returns constructor cached per class and parameter types.
+     *
+     * @param clazz page class
+     * @param parameters constructor arguments
+     * @param lookup constructor lookup for the first request
+     * @param <T> page type
+     * @return constructor
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Constructor<? extends T> getConstructor(Class<? extends T> clazz, Object[] parameters,
+            Supplier<? extends Constructor<? extends T>> lookup) {
+        StringBuilder key = new StringBuilder(clazz.getName());
+        for (Object parameter : parameters) {
+            key.append('|').append(parameter.getClass().getName());
+        }
+        Constructor<?> constructor = CONSTRUCTORS.get(key.toString());
+        if (constructor == null) {
+            constructor = lookup.get();
+            CONSTRUCTORS.put(key.toString(), constructor);
+        }
+        return (Constructor<? extends T>) constructor;
+    }
+
+    private static List<Variant> getVariants(Class<?> parentClass) {
+        return VARIANTS.computeIfAbsent(parentClass, parent -> {
+            List<Variant> variants = new ArrayList<Variant>();
+            for (Class<?> clazz : ReflectionsHolder.REFLECTIONS.getSubTypesOf(parent)) {
+                DeviceType deviceType = clazz.getAnnotation(DeviceType.class);
+                if (deviceType == null || deviceType.parentClass() != parent) {
+                    LOGGER.debug(String.format("Removing as parentClass (%s) is not satisfied or due to absence of @DeviceType annotation on class: %s",
+                            parent.getName(), clazz.getName()));
+                    continue;
+                }
+                variants.add(new Variant(clazz, deviceType));
+            }
+            LOGGER.debug("Relatives classes count for " + parent.getName() + ": " + variants.size());
+            return Collections.unmodifiableList(variants);
+        });
+    }
+
+    private static Class<?> find(Class<?> parentClass, Type screenType, String deviceVersion) {
+        String majorVersionNumber = deviceVersion.split(VERSION_SPLITTER)[0];
+        LOGGER.debug("Major version of device OS: " + majorVersionNumber);
+
+        Class<?> majorVersionClass = null, deviceClass = null, familyClass = null;
+        for (Variant variant : getVariants(parentClass)) {
+            LOGGER.debug(String.format("Expected screenType: %s, Actual screenType: %s", screenType, variant.pageType));
+            if (variant.pageType.equals(screenType)) {
+                if (variant.versions.contains(deviceVersion)) {
+                    LOGGER.debug("Instance by version and platform will be created.");
+                    return variant.clazz;
+                }
+                if (variant.majorVersions.contains(majorVersionNumber)) {
+                    majorVersionClass = variant.clazz;
+                }
+                deviceClass = variant.clazz;
+                continue;
+            }
+            if (variant.pageType.getFamily().equals(screenType.getFamily())) {
+                LOGGER.debug(String.format("Family class '%s' correspond to required page.", screenType.getFamily()));
+                familyClass = variant.clazz;
+            }
+        }
+
+        if (majorVersionClass != null) {
+            LOGGER.debug("Instance by major version and platform will be created.");
+            return majorVersionClass;
+        } else if (deviceClass != null) {
+            LOGGER.debug("Instance by platform will be created.");
+            return deviceClass;
+        } else if (familyClass != null) {
+            LOGGER.debug("Instance by family will be created.");
+            return familyClass;
+        }
+        throw new RuntimeException(
+                String.format("There is no any class that satisfy to required conditions: [parent class - %s], [device type - %s]",
+                        parentClass.getName(), screenType));
+    }
+
+}
@@ -120,20 +120,13 @@ public class DriverHelper {
      * @return boolean return true only if all elements present.
      */
     public boolean allElementsPresent(long timeout, ExtendedWebElement... elements) {
-        int index = 0;
-        boolean present = true;
+        boolean[] states = getElementsState(ElementsStateResolver.State.VISIBLE, ElementsStateResolver.Match.ALL,
+                timeout, elements);
         boolean ret = true;
-        int counts = 1;
-        timeout = timeout / counts;
-        if (timeout < 1)
-            timeout = 1;
-        while (present && index++ < counts) {
-            for (int i = 0; i < elements.length; i++) {
-                present = elements[i].isElementPresent(timeout);
-                if (!present) {
-                    LOGGER.error(elements[i].getNameWithLocator() + " is not present.");
-                    ret = false;
-                }
+        for (int i = 0; i < elements.length; i++) {
+            if (!states[i]) {
+                LOGGER.error(elements[i].getNameWithLocator() + " is not present.");
+                ret = false;
             }
         }
         return ret;
@@ -208,20 +201,15 @@ public class DriverHelper {
      * @return true if any of elements was found.
      */
     public boolean isAnyElementPresent(long timeout, ExtendedWebElement... elements) {
-        int index = 0;
-        int counts = 10;
-        timeout = timeout / counts;
-        if (timeout < 1)
-            timeout = 1;
-        while (index++ < counts) {
-            for (int i = 0; i < elements.length; i++) {
-                if (elements[i].isElementPresent(timeout)) {
-                    LOGGER.debug(elements[i].getNameWithLocator() + " is present");
-                    return true;
-                }
+        boolean[] states = getElementsState(ElementsStateResolver.State.VISIBLE, ElementsStateResolver.Match.ANY,
+                timeout, elements);
+        for (int i = 0; i < elements.length; i++) {
+            if (states[i]) {
+                LOGGER.debug(elements[i].getNameWithLocator() + " is present");
+                return true;
             }
         }
-        
+
         LOGGER.error("Unable to find any element from array: " + Arrays.toString(elements));
         return false;
     }
@@ -246,17 +234,12 @@ public class DriverHelper {
      * @return ExtendedWebElement
      */
     public ExtendedWebElement returnAnyPresentElement(long timeout, ExtendedWebElement... elements) {
-        int index = 0;
-        int counts = 10;
-        timeout = timeout / counts;
-        if (timeout < 1)
-            timeout = 1;
-        while (index++ < counts) {
-            for (int i = 0; i < elements.length; i++) {
-                if (elements[i].isElementPresent(timeout)) {
-                    LOGGER.debug(elements[i].getNameWithLocator() + " is present");
-                    return elements[i];
-                }
+        boolean[] states = getElementsState(ElementsStateResolver.State.VISIBLE, ElementsStateResolver.Match.ANY,
+                timeout, elements);
+        for (int i = 0; i < elements.length; i++) {
+            if (states[i]) {
+                LOGGER.debug(elements[i].getNameWithLocator() + " is present");
+                return elements[i];
             }
         }
         //throw exception anyway if nothing was returned inside for cycle
@@ -264,6 +247,42 @@ public class DriverHelper {
         throw new RuntimeException("Unable to find any element from array: " + Arrays.toString(elements));
     }
 
+    /**
+     * Resolves state of several elements in a single polling loop with shared timeout. On web all elements are
+     * checked by a single javascript call per poll.
+     *
+     * @param state PRESENT or VISIBLE
+     * @param match ALL - wait until all elements are in expected state, ANY - until at least one of them
+     * @param timeout long
+     * @param elements ExtendedWebElement...
+     * @return state of each element
+     */
+    public boolean[] getElementsState(ElementsStateResolver.State state, ElementsStateResolver.Match match, long timeout,
+            ExtendedWebElement... elements) {
+        if (timeout < 1) {
+            timeout = 1;
+        }
+        By[] locators = new By[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            locators[i] = elements[i].getBy();
+            if (locators[i] == null) {
+                // elements without locator can be checked only separately
+                return getElementsStateSeparately(state, timeout, elements);
+            }
+        }
+        return new ElementsStateResolver(getDriver(), RETRY_TIME).resolve(state, match, timeout, locators);
+    }
+
+    private boolean[] getElementsStateSeparately(ElementsStateResolver.State state, long timeout,
+            ExtendedWebElement... elements) {
+        boolean[] states = new boolean[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            states[i] = state == ElementsStateResolver.State.VISIBLE ? elements[i].isElementPresent(timeout)
+                    : elements[i].isPresent(timeout);
+        }
+        return states;
+    }
+
     /**
      * Check that element with text present.
      * 
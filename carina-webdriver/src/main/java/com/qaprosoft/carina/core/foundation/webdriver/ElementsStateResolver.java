@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+
+import com.qaprosoft.carina.core.foundation.performance.ACTION_NAME;
+import com.qaprosoft.carina.core.foundation.performance.Timer;
+
+/**
+ * ElementsStateResolver - resolves presence or visibility of several elements in a single polling loop with shared
+ * timeout. On web each poll is a single javascript call for all not resolved yet locators, otherwise elements are
+ * looked up one by one.
+ */
+public class ElementsStateResolver {
+    private static final Logger LOGGER = Logger.getLogger(ElementsStateResolver.class);
+
+    public enum State {
+        PRESENT,
+        VISIBLE
+    }
+
+    public enum Match {
+        ALL,
+        ANY
+    }
+
+    // arguments[0] - array of [type, value] locators, arguments[1] - visibility flag
+    private static final String RESOLVE_SCRIPT = "var locators = arguments[0], visible = arguments[1], result = [];"
+            + "for (var i = 0; i < locators.length; i++) {"
+            + "  var type = locators[i][0], value = locators[i][1], els = [];"
+            + "  if (type === 'id') { var e = document.getElementById(value); if (e) { els.push(e); } }"
+            + "  else if (type === 'css') { els = document.querySelectorAll(value); }"
+            + "  else if (type === 'name') { els = document.getElementsByName(value); }"
+            + "  else if (type === 'class') { els = document.getElementsByClassName(value); }"
+            + "  else if (type === 'tag') { els = document.getElementsByTagName(value); }"
+            + "  else if (type === 'xpath') {"
+            + "    var it = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    for (var j = 0; j < it.snapshotLength; j++) { els.push(it.snapshotItem(j)); }"
+            + "  }"
+            + "  var found = els.length > 0;"
+            + "  if (found && visible) {"
+            + "    found = false;"
+            + "    for (var k = 0; k < els.length && !found; k++) {"
+            + "      var el = els[k], style = window.getComputedStyle(el);"
+            + "      found = style.visibility !== 'hidden' && style.display !== 'none'"
+            + "        && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);"
+            + "    }"
+            + "  }"
+            + "  result.push(found);"
+            + "}"
+            + "return result;";
+
+    private final WebDriver driver;
+    private final long retryInterval;
+
+    /**
+     * @param driver WebDriver
+     * @param retryInterval polling interval in milliseconds
+     */
+    public ElementsStateResolver(WebDriver driver, long retryInterval) {
+        this.driver = driver;
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Polls elements state until expected match is reached or timeout is over.
+     *
+     * @param state expected state of elements
+     * @param match ALL - wait for all elements, ANY - wait for at least one element
+     * @param timeout shared timeout in seconds
+     * @param locators elements locators
+     * @return state of each element, element is never rechecked after it was resolved
+     */
+    public boolean[] resolve(State state, Match match, long timeout, By... locators) {
+        boolean[] resolved = new boolean[locators.length];
+        if (locators.length == 0) {
+            return resolved;
+        }
+
+        Timer.start(ACTION_NAME.WAIT);
+        try {
+            boolean useScript = isScriptSupported(locators);
+            long deadline = System.currentTimeMillis() + timeout * 1000;
+            while (true) {
+                if (useScript) {
+                    try {
+                        resolveByScript(state, resolved, locators);
+                    } catch (WebDriverException e) {
+                        LOGGER.debug("Unable to resolve elements state via javascript, switching to separate lookups.", e);
+                        useScript = false;
+                        resolveByLookup(state, resolved, locators);
+                    }
+                } else {
+                    resolveByLookup(state, resolved, locators);
+                }
+
+                if (isMatched(match, resolved) || System.currentTimeMillis() + retryInterval > deadline) {
+                    break;
+                }
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            Timer.stop(ACTION_NAME.WAIT);
+        }
+        return resolved;
+    }
+
+    private void resolveByScript(State state, boolean[] resolved, By[] locators) {
+        List<Integer> indexes = new ArrayList<Integer>();
+        List<List<String>> args = new ArrayList<List<String>>();
+        for (int i = 0; i < locators.length; i++) {
+            if (!resolved[i]) {
+                indexes.add(i);
+                args.add(toScriptLocator(locators[i]));
+            }
+        }
+
+        Object result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, args, state == State.VISIBLE);
+        if (!(result instanceof List) || ((List<?>) result).size() != indexes.size()) {
+            throw new WebDriverException("Unexpected elements state script result: " + result);
+        }
+        List<?> states = (List<?>) result;
+        for (int i = 0; i < indexes.size(); i++) {
+            resolved[indexes.get(i)] = Boolean.TRUE.equals(states.get(i));
+        }
+    }
+
+    private void resolveByLookup(State state, boolean[] resolved, By[] locators) {
+        for (int i = 0; i < locators.length; i++) {
+            if (resolved[i]) {
+                continue;
+            }
+            try {
+                List<WebElement> elements = driver.findElements(locators[i]);
+                if (state == State.PRESENT) {
+                    resolved[i] = !elements.isEmpty();
+                } else {
+                    for (WebElement element : elements) {
+                        if (element.isDisplayed()) {
+                            resolved[i] = true;
+                            break;
+                        }
+                    }
+                }
+            } catch (WebDriverException e) {
+                // element is not resolved during this poll
+                LOGGER.debug("Unable to lookup " + locators[i], e);
+            }
+        }
+    }
+
+    private static boolean isMatched(Match match, boolean[] resolved) {
+        for (boolean value : resolved) {
+            if (match == Match.ANY && value) {
+                return true;
+            }
+            if (match == Match.ALL && !value) {
+                return false;
+            }
+        }
+        return match == Match.ALL;
+    }
+
+    private boolean isScriptSupported(By[] locators) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return false;
+        }
+        WebDriver drv = driver;
+        while (drv instanceof WrapsDriver) {
+            drv = ((WrapsDriver) drv).getWrappedDriver();
+        }
+        if (drv instanceof HasCapabilities) {
+            // native mobile contexts don't declare browser name and can't execute javascript
+            if (StringUtils.isEmpty(((HasCapabilities) drv).getCapabilities().getBrowserName())) {
+                return false;
+            }
+        }
+        for (By by : locators) {
+            if (toScriptLocator(by) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts locator to javascript [type, value] pair.
+     *
+     * @param by locator
+     * @return pair or null if locator can't be resolved via javascript
+     */
+    static List<String> toScriptLocator(By by) {
+        if (by == null) {
+            return null;
+        }
+        String locator = by.toString();
+        String[][] prefixes = {
+                { "By.id: ", "id" },
+                { "By.cssSelector: ", "css" },
+                { "By.xpath: ", "xpath" },
+                { "By.name: ", "name" },
+                { "By.className: ", "class" },
+                { "By.tagName: ", "tag" } };
+        for (String[] prefix : prefixes) {
+            if (locator.startsWith(prefix[0])) {
+                List<String> pair = new ArrayList<String>(2);
+                pair.add(prefix[1]);
+                pair.add(locator.substring(prefix[0].length()));
+                return pair;
+            }
+        }
+        return null;
+    }
+
+}
@@ -42,6 +42,7 @@ import com.qaprosoft.carina.core.foundation.utils.common.CommonUtils;
 import com.qaprosoft.carina.core.foundation.webdriver.TestPhase.Phase;
 import com.qaprosoft.carina.core.foundation.webdriver.core.factory.DriverFactory;
 import com.qaprosoft.carina.core.foundation.webdriver.device.Device;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ElementCache;
 
 public interface IDriverPool {
     static final Logger LOGGER = Logger.getLogger(IDriverPool.class);
@@ -309,6 +310,7 @@ public interface IDriverPool {
         } catch (Exception e) {
             LOGGER.error("Error discovered during driver quit: " + e.getMessage(), e);
         } finally {
+            ElementCache.release(carinaDriver.getDriver());
             MDC.remove("device");
         }
     }
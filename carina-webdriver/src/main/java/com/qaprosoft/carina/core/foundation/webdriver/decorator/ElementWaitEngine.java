@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator;
+
+import java.util.function.Function;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * ElementWaitEngine - reusable per thread polling loop for element conditions. Condition is checked immediately and
+ * only then engine starts polling with interval which grows from configured retry interval up to
+ * {@link #MAX_POLLING_INTERVAL}. WebDriverException thrown by condition is treated as not satisfied condition.
+ */
+final class ElementWaitEngine {
+
+    static final long MAX_POLLING_INTERVAL = 500;
+
+    private static final ThreadLocal<ElementWaitEngine> ENGINES = ThreadLocal.withInitial(ElementWaitEngine::new);
+
+    private Throwable lastException;
+
+    private ElementWaitEngine() {
+    }
+
+    static ElementWaitEngine getInstance() {
+        return ENGINES.get();
+    }
+
+    /**
+     * Waits until condition returns not null and not false value.
+     * 
+     * @param driver WebDriver
+     * @param condition condition to verify
+     * @param timeout timeout in seconds, 0 means single check
+     * @param pollingInterval initial polling interval in milliseconds
+     * @param onStale action executed once when StaleElementReferenceException is detected, could be null
+     * @return true if condition is satisfied
+     */
+    boolean until(WebDriver driver, Function<? super WebDriver, ?> condition, long timeout, long pollingInterval,
+            Runnable onStale) {
+        lastException = null;
+        boolean staleHandled = onStale == null;
+        long end = System.currentTimeMillis() + timeout * 1000;
+        long interval = Math.max(1, pollingInterval);
+        while (true) {
+            try {
+                if (isSatisfied(condition.apply(driver))) {
+                    lastException = null;
+                    return true;
+                }
+            } catch (WebDriverException e) {
+                lastException = e;
+                if (!staleHandled && e instanceof StaleElementReferenceException) {
+                    staleHandled = true;
+                    try {
+                        onStale.run();
+                    } catch (WebDriverException ex) {
+                        lastException = ex;
+                    }
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= end) {
+                return false;
+            }
+
+            try {
+                Thread.sleep(Math.min(interval, end - now));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(e);
+            }
+            interval = Math.min(interval * 2, Math.max(pollingInterval, MAX_POLLING_INTERVAL));
+        }
+    }
+
+    /**
+     * @return last exception thrown by condition during the latest unsuccessful wait
+     */
+    Throwable getLastException() {
+        return lastException;
+    }
+
+    private static boolean isSatisfied(Object value) {
+        return value != null && !Boolean.FALSE.equals(value);
+    }
+
+}
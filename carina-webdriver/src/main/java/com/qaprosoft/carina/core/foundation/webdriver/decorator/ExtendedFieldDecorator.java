@@ -17,9 +17,7 @@ package com.qaprosoft.carina.core.foundation.webdriver.decorator;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
-import java.lang.reflect.Type;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -33,14 +31,12 @@ import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.FieldDecorator;
-import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
 
-import com.qaprosoft.carina.core.foundation.webdriver.ai.FindByAI;
 import com.qaprosoft.carina.core.foundation.webdriver.locator.ExtendedElementLocator;
-import com.qaprosoft.carina.core.foundation.webdriver.locator.ExtendedElementLocatorFactory;
 import com.qaprosoft.carina.core.foundation.webdriver.locator.ExtendedFindBy;
 import com.qaprosoft.carina.core.foundation.webdriver.locator.LocalizedAnnotations;
 import com.qaprosoft.carina.core.foundation.webdriver.locator.internal.AbstractUIObjectListHandler;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.internal.LocatingElementHandler;
 import com.qaprosoft.carina.core.foundation.webdriver.locator.internal.LocatingElementListHandler;
 import com.qaprosoft.carina.core.gui.AbstractUIObject;
 
@@ -56,21 +52,33 @@ public class ExtendedFieldDecorator implements FieldDecorator {
         this.webDriver = webDriver;
     }
 
-    public Object decorate(ClassLoader loader, Field field) {
-        if ((!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(ExtendedFindBy.class) && !field.isAnnotationPresent(FindByAI.class))
-                /*
-                 * Enable field decorator logic only in case of
-                 * presence the FindBy/FindByCarina/FindByAI annotation in the
-                 * field
-                 */ ||
-                !(ExtendedWebElement.class.isAssignableFrom(field.getType()) || AbstractUIObject.class.isAssignableFrom(field.getType())
-                        || isDecoratableList(field)) /*
-                                                      * also verify that it is ExtendedWebElement or derived from AbstractUIObject or DecoratableList
-                                                      */) {
-            // returning null is ok in this method.
-            return null;
+    /**
+     * Initializes decoratable fields of the page or UI object. Fields are analyzed only once per class.
+     *
+     * @param page page or UI object
+     */
+    public void initElements(Object page) {
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (FieldDecorationPlan.DecoratedField decoratedField : FieldDecorationPlan.get(page.getClass())) {
+            Object value = decorate(loader, decoratedField);
+            if (value != null) {
+                try {
+                    decoratedField.getField().set(page, value);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
         }
+    }
+
+    public Object decorate(ClassLoader loader, Field field) {
+        // returning null is ok in this method.
+        FieldDecorationPlan.DecoratedField decoratedField = FieldDecorationPlan.describe(field);
+        return decoratedField != null ? decorate(loader, decoratedField) : null;
+    }
 
+    private Object decorate(ClassLoader loader, FieldDecorationPlan.DecoratedField decoratedField) {
+        Field field = decoratedField.getField();
         ElementLocator locator;
         try {
             locator = factory.createLocator(field);
@@ -81,51 +89,20 @@ public class ExtendedFieldDecorator implements FieldDecorator {
         if (locator == null) {
             return null;
         }
-		if (((ExtendedElementLocatorFactory) factory).isRootElementUsed()) {
-			LOGGER.debug("Setting setShouldCache=false for locator: " + getLocatorBy(locator).toString());
-			((ExtendedElementLocator) locator).setShouldCache(false);
-		}
-
-        if (ExtendedWebElement.class.isAssignableFrom(field.getType())) {
+        switch (decoratedField.getKind()) {
+        case ELEMENT:
             return proxyForLocator(loader, field, locator);
-        }
-        if (AbstractUIObject.class.isAssignableFrom(field.getType())) {
+        case UI_OBJECT:
             return proxyForAbstractUIObject(loader, field, locator);
-        } else if (List.class.isAssignableFrom(field.getType())) {
-            Type listType = getListType(field);
-            if (ExtendedWebElement.class.isAssignableFrom((Class<?>) listType)) {
-                return proxyForListLocator(loader, field, locator);
-            } else if (AbstractUIObject.class.isAssignableFrom((Class<?>) listType)) {
-                return proxyForListUIObjects(loader, field, locator);
-            } else {
-                return null;
-            }
-        } else {
+        case ELEMENT_LIST:
+            return proxyForListLocator(loader, field, locator);
+        case UI_OBJECT_LIST:
+            return proxyForListUIObjects(loader, field, locator);
+        default:
             return null;
         }
     }
 
-    private boolean isDecoratableList(Field field) {
-        if (!List.class.isAssignableFrom(field.getType())) {
-            return false;
-        }
-
-        Type listType = getListType(field);
-        if (listType == null) {
-            return false;
-        }
-
-        try {
-            if (!(ExtendedWebElement.class.equals(listType) || AbstractUIObject.class.isAssignableFrom((Class<?>) listType))) {
-                return false;
-            }
-        } catch (ClassCastException e) {
-            return false;
-        }
-
-        return true;
-    }
-
     protected ExtendedWebElement proxyForLocator(ClassLoader loader, Field field, ElementLocator locator) {
         InvocationHandler handler = new LocatingElementHandler(locator);
         WebElement proxy = (WebElement) Proxy.newProxyInstance(loader, new Class[] { WebElement.class, WrapsElement.class, Locatable.class },
@@ -177,23 +154,12 @@ public class ExtendedFieldDecorator implements FieldDecorator {
             ElementLocator locator) {
     	LOGGER.debug("Setting setShouldCache=false for locator: " + getLocatorBy(locator).toString());
     	((ExtendedElementLocator) locator).setShouldCache(false);
-        InvocationHandler handler = new AbstractUIObjectListHandler<T>((Class<?>) getListType(field), webDriver,
+        InvocationHandler handler = new AbstractUIObjectListHandler<T>(FieldDecorationPlan.describe(field).getListType(), webDriver,
                 locator, field.getName());
         List<T> proxies = (List<T>) Proxy.newProxyInstance(loader, new Class[] { List.class }, handler);
         return proxies;
     }
 
-    private Type getListType(Field field) {
-        // Type erasure in Java isn't complete. Attempt to discover the generic
-        // type of the list.
-        Type genericType = field.getGenericType();
-        if (!(genericType instanceof ParameterizedType)) {
-            return null;
-        }
-
-        return ((ParameterizedType) genericType).getActualTypeArguments()[0];
-    }
-    
     private By getLocatorBy(ElementLocator locator) {
     	By rootBy = null;
     	
@@ -36,11 +36,9 @@ import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.StaleElementReferenceException;
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
@@ -54,8 +52,6 @@ import org.openqa.selenium.support.events.EventFiringWebDriver;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.Wait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import com.qaprosoft.carina.core.foundation.commons.SpecialKeywords;
@@ -302,6 +298,18 @@ public class ExtendedWebElement {
      * @return true if condition happen.
      */
 	private boolean waitUntil(ExpectedCondition<?> condition, long timeout) {
+		return waitUntil(condition, timeout, null);
+	}
+
+	/**
+	 * Wait until any condition happens using single polling loop.
+	 *
+	 * @param condition - ExpectedCondition.
+	 * @param timeout - timeout.
+	 * @param onStale - action to execute once StaleElementReferenceException is detected.
+	 * @return true if condition happen.
+	 */
+	private boolean waitUntil(ExpectedCondition<?> condition, long timeout, Runnable onStale) {
 		boolean result;
 		originalException = null;
 		
@@ -309,24 +317,18 @@ public class ExtendedWebElement {
 		
 		Timer.start(ACTION_NAME.WAIT);
 		
-		Wait<WebDriver> wait = new WebDriverWait(drv, timeout, RETRY_TIME).ignoring(WebDriverException.class)
-				.ignoring(NoSuchSessionException.class);
 		// StaleElementReferenceException is handled by selenium ExpectedConditions in many methods
 		try {
 			LOGGER.debug("waitUntil: starting..." + getNameWithLocator());
 			LOGGER.debug("waitUntil: starting condition: " + condition.toString());
-			wait.until(condition);
-			result = true;
-			LOGGER.debug("waitUntil: finished true..." + getNameWithLocator());
-		} catch (NoSuchElementException e) {
-			// don't write exception even in debug mode
-			LOGGER.debug("waitUntil: NoSuchElementException e..." + getNameWithLocator());
-			result = false;
-			originalException = e;
-		} catch (TimeoutException e) { 
-			LOGGER.debug("waitUntil: TimeoutException e..." + getNameWithLocator());
-			result = false;
-			originalException = e.getCause();
+			ElementWaitEngine engine = ElementWaitEngine.getInstance();
+			result = engine.until(drv, condition, timeout, RETRY_TIME, onStale);
+			if (result) {
+				LOGGER.debug("waitUntil: finished true..." + getNameWithLocator());
+			} else {
+				LOGGER.debug("waitUntil: finished false..." + getNameWithLocator());
+				originalException = engine.getLastException();
+			}
 		} catch (WebDriverException e) {
             LOGGER.debug("waitUntil: WebDriverException e..." + getNameWithLocator());
             result = false;
@@ -1459,14 +1461,11 @@ public class ExtendedWebElement {
 		
 		if (waitCondition != null) {
 			//do verification only if waitCondition is fine
-			
-			boolean tmpResult = waitUntil(waitCondition, 0);
-			if (!tmpResult && originalException != null && StaleElementReferenceException.class.equals(originalException.getClass())) {
+			// immediate check, stale element refind and polling are done in a single wait
+			if (!waitUntil(waitCondition, timeout, () -> {
 				LOGGER.debug("StaleElementReferenceException detected in doAction!");
 				refindElement();
-			}
-			
-			if (!tmpResult && !waitUntil(waitCondition, timeout)) {
+			})) {
 				LOGGER.error(Messager.ELEMENT_CONDITION_NOT_VERIFIED.getMessage(actionName.getKey(), getNameWithLocator()));
 			}
 		}
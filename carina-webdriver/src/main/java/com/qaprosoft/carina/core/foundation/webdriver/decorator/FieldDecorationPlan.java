@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.support.FindBy;
+
+import com.qaprosoft.carina.core.foundation.webdriver.ai.FindByAI;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ExtendedFindBy;
+import com.qaprosoft.carina.core.gui.AbstractUIObject;
+
+/**
+ * FieldDecorationPlan - decoratable fields of page or UI object class collected once per class so page initialization
+ * only creates proxies for them.
+ */
+final class FieldDecorationPlan {
+
+    enum Kind {
+        ELEMENT,
+        UI_OBJECT,
+        ELEMENT_LIST,
+        UI_OBJECT_LIST
+    }
+
+    static final class DecoratedField {
+        private final Field field;
+        private final Kind kind;
+        private final Class<?> listType;
+
+        private DecoratedField(Field field, Kind kind, Class<?> listType) {
+            this.field = field;
+            this.kind = kind;
+            this.listType = listType;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        Class<?> getListType() {
+            return listType;
+        }
+    }
+
+    private static final Map<Class<?>, List<DecoratedField>> PLANS = new ConcurrentHashMap<Class<?>, List<DecoratedField>>();
+
+    // null value can't be stored so not decoratable fields are marked by NOT_DECORATABLE
+    private static final DecoratedField NOT_DECORATABLE = new DecoratedField(null, null, null);
+    private static final Map<Field, DecoratedField> FIELDS = new ConcurrentHashMap<Field, DecoratedField>();
+
+    private FieldDecorationPlan() {
+    }
+
+    /**
+     * Returns decoratable fields of the class and all its superclasses, the same fields PageFactory walks through.
+     *
+     * @param clazz page or UI object class
+     * @return immutable list of decoratable fields
+     */
+    static List<DecoratedField> get(Class<?> clazz) {
+        return PLANS.computeIfAbsent(clazz, FieldDecorationPlan::build);
+    }
+
+    /**
+     * @param field field
+     * @return decoration info or null if field can't be decorated
+     */
+    static DecoratedField describe(Field field) {
+        DecoratedField decoratedField = FIELDS.computeIfAbsent(field, FieldDecorationPlan::analyze);
+        return decoratedField != NOT_DECORATABLE ? decoratedField : null;
+    }
+
+    private static List<DecoratedField> build(Class<?> clazz) {
+        List<DecoratedField> fields = new ArrayList<DecoratedField>();
+        Class<?> current = clazz;
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                DecoratedField decoratedField = describe(field);
+                if (decoratedField != null) {
+                    field.setAccessible(true);
+                    fields.add(decoratedField);
+                }
+            }
+            current = current.getSuperclass();
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static DecoratedField analyze(Field field) {
+        // Enable field decorator logic only in case of presence the FindBy/FindByCarina/FindByAI annotation in the field
+        if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(ExtendedFindBy.class)
+                && !field.isAnnotationPresent(FindByAI.class)) {
+            return NOT_DECORATABLE;
+        }
+
+        Class<?> type = field.getType();
+        if (ExtendedWebElement.class.isAssignableFrom(type)) {
+            return new DecoratedField(field, Kind.ELEMENT, null);
+        }
+        if (AbstractUIObject.class.isAssignableFrom(type)) {
+            return new DecoratedField(field, Kind.UI_OBJECT, null);
+        }
+        if (List.class.isAssignableFrom(type)) {
+            // Type erasure in Java isn't complete. Attempt to discover the generic type of the list.
+            Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType) {
+                Type listType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (ExtendedWebElement.class.equals(listType)) {
+                    return new DecoratedField(field, Kind.ELEMENT_LIST, (Class<?>) listType);
+                }
+                if (listType instanceof Class && AbstractUIObject.class.isAssignableFrom((Class<?>) listType)) {
+                    return new DecoratedField(field, Kind.UI_OBJECT_LIST, (Class<?>) listType);
+                }
+            }
+        }
+        return NOT_DECORATABLE;
+    }
+
+}
@@ -75,6 +75,17 @@ public abstract class AbstractElementExtractor {
         return driver.findElements(By.xpath("//*[count(./*)=0]"));
     }
 
+    /**
+     * Method builds spatial index of end level elements using single round trip
+     * to the driver where it is possible
+     *
+     * @param driver WebDriver
+     * @return ElementSpatialIndex
+     */
+    public ElementSpatialIndex getSpatialIndex(WebDriver driver) {
+        return ElementSpatialIndex.build(driver, this);
+    }
+
     public ExtendedWebElement generateExtenedElement(List<WebElement> elements, String name) {
         if (elements.size() != 1) {
             throw new RuntimeException("Zero or more than 1 element was found using coordinates.");
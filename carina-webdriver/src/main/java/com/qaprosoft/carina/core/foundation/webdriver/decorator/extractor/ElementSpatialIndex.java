@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator.extractor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * ElementSpatialIndex - in-memory index of end level elements rectangles. Rectangles are fetched once (single
+ * javascript call on web) and elements by coordinates are found locally using horizontal bands.
+ */
+public class ElementSpatialIndex {
+    private static final Logger LOGGER = Logger.getLogger(ElementSpatialIndex.class);
+
+    private static final int BAND_HEIGHT = 64;
+
+    // returns [element, x, y, width, height] for every end level element using page coordinates as getLocation does
+    private static final String RECTS_SCRIPT = "var result = [], all = document.getElementsByTagName('*');"
+            + "var dx = window.pageXOffset || 0, dy = window.pageYOffset || 0;"
+            + "for (var i = 0; i < all.length; i++) {"
+            + "  var el = all[i];"
+            + "  if (el.children.length > 0) { continue; }"
+            + "  var r = el.getBoundingClientRect();"
+            + "  result.push([el, Math.round(r.left + dx), Math.round(r.top + dy), Math.round(r.width), Math.round(r.height)]);"
+            + "}"
+            + "return result;";
+
+    private static final class Entry {
+        private final WebElement element;
+        private final Rectangle rect;
+
+        private Entry(WebElement element, Rectangle rect) {
+            this.element = element;
+            this.rect = rect;
+        }
+    }
+
+    private final List<List<Entry>> bands = new ArrayList<List<Entry>>();
+    private int size;
+
+    /**
+     * Builds index of end level elements for current page.
+     * 
+     * @param driver WebDriver
+     * @param extractor extractor to read rectangles if javascript can't be used
+     * @return ElementSpatialIndex
+     */
+    public static ElementSpatialIndex build(WebDriver driver, AbstractElementExtractor extractor) {
+        ElementSpatialIndex index = new ElementSpatialIndex();
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                Object result = ((JavascriptExecutor) driver).executeScript(RECTS_SCRIPT);
+                if (result instanceof List) {
+                    for (Object item : (List<?>) result) {
+                        List<?> values = (List<?>) item;
+                        index.add((WebElement) values.get(0), new Rectangle(toInt(values.get(1)), toInt(values.get(2)),
+                                toInt(values.get(4)), toInt(values.get(3))));
+                    }
+                    return index;
+                }
+            } catch (WebDriverException | ClassCastException e) {
+                // e.g. native mobile context
+                LOGGER.debug("Unable to collect elements rectangles via javascript, switching to separate calls.", e);
+            }
+        }
+
+        for (WebElement element : extractor.getEndLevelElements(driver)) {
+            try {
+                index.add(element, extractor.getRect(element));
+            } catch (Exception e) {
+                LOGGER.debug("Unable to get element rectangle", e);
+            }
+        }
+        return index;
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    void add(WebElement element, Rectangle rect) {
+        if (rect.height < 0 || rect.width < 0 || rect.y + rect.height < 0) {
+            return;
+        }
+        Entry entry = new Entry(element, rect);
+        int first = Math.max(0, rect.y) / BAND_HEIGHT;
+        int last = (rect.y + rect.height) / BAND_HEIGHT;
+        while (bands.size() <= last) {
+            bands.add(new ArrayList<Entry>());
+        }
+        for (int band = first; band <= last; band++) {
+            bands.get(band).add(entry);
+        }
+        size++;
+    }
+
+    /**
+     * @param x int
+     * @param y int
+     * @return elements which contain the point, borders are included
+     */
+    public List<WebElement> getElementsAt(int x, int y) {
+        if (y < 0 || y / BAND_HEIGHT >= bands.size()) {
+            return Collections.emptyList();
+        }
+        List<WebElement> elements = new ArrayList<WebElement>();
+        for (Entry entry : bands.get(y / BAND_HEIGHT)) {
+            Rectangle rect = entry.rect;
+            if (rect.x <= x && rect.x + rect.width >= x && rect.y <= y && rect.y + rect.height >= y) {
+                elements.add(entry.element);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * @return number of indexed elements
+     */
+    public int size() {
+        return size;
+    }
+
+}
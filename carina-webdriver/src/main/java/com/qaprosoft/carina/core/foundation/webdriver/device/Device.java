@@ -60,6 +60,9 @@ public class Device extends RemoteDevice implements IDriverPool {
     private static List<String> clearedDeviceUdids = new ArrayList<>();
     private boolean isStfEnabled;
 
+    // moment when sys log was cleared last time, start of the default sys log slice
+    private long sysLogStartTime = 0;
+
     AdbExecutor executor = new AdbExecutor();
 
     public Device() {
@@ -209,6 +212,9 @@ public class Device extends RemoteDevice implements IDriverPool {
     }
 
     public void disconnectRemote() {
+        // device is released so background logcat stream isn't needed anymore
+        LogcatStreamer.stop(getAdbName());
+
         if (!isStfEnabled)
             return;
         
@@ -558,8 +564,18 @@ public class Device extends RemoteDevice implements IDriverPool {
      * @return sys log
      */
     public String getSysLog() {
-        int extractionTimeout = 15;
-        
+        return getSysLog(sysLogStartTime, System.currentTimeMillis());
+    }
+
+    /**
+     * Extract sys log for the time range. Lines are taken from the background logcat stream if it covers the range,
+     * otherwise whole logcat is dumped using adb.
+     * 
+     * @param from start timestamp in ms
+     * @param to end timestamp in ms
+     * @return sys log
+     */
+    public String getSysLog(long from, long to) {
         if (isNull()) {
             return "";
         }
@@ -568,6 +584,21 @@ public class Device extends RemoteDevice implements IDriverPool {
             LOGGER.debug("Logcat log is empty since device is not Android");
             return "";
         }
+
+        LogcatStreamer streamer = LogcatStreamer.get(getAdbName());
+        if (streamer != null && streamer.isCovered(from)) {
+            LOGGER.debug("Slicing of sys log from logcat stream: " + getAdbName());
+            StringBuilder log = new StringBuilder();
+            streamer.getLog(from, to).forEach((k) -> log.append(k).append("\n"));
+            return log.toString();
+        }
+
+        return dumpSysLog();
+    }
+
+    private String dumpSysLog() {
+        int extractionTimeout = 15;
+
         LOGGER.debug("Extraction of sys log: " + getAdbName());
 
         // launch extractor in separate thread to avoid possible hang out
@@ -599,9 +630,9 @@ public class Device extends RemoteDevice implements IDriverPool {
 //            TODO: add custom handlers for each exceptions based on type
             LOGGER.warn("Unknown issue was fired. Empty logs will be used.", e);
             return "";
+        } finally {
+            executorService.shutdown();
         }
-       
-//        return tempStr.toString();
     }
     
     /**
@@ -626,7 +657,10 @@ public class Device extends RemoteDevice implements IDriverPool {
         // adb -s UDID logcat -c
         String[] cmd = CmdLine.insertCommandsAfter(executor.getDefaultCmd(), "-s", getAdbName(), "logcat", "-c");
         executor.execute(cmd);
+        sysLogStartTime = System.currentTimeMillis();
         LOGGER.debug("Logcat logs were cleared.");
+
+        LogcatStreamer.start(getAdbName());
     }
     
     /**
@@ -636,13 +670,28 @@ public class Device extends RemoteDevice implements IDriverPool {
      * @return saved file
      */
     public File saveSysLog() {
-		if (!isConnected()) {
+        return saveSysLog(sysLogStartTime, System.currentTimeMillis());
+    }
+
+    /**
+     * Save logcat log for the time range, e.g. test start and end timestamps
+     * 
+     * @param from start timestamp in ms
+     * @param to end timestamp in ms
+     * @return saved file
+     */
+    public File saveSysLog(long from, long to) {
+        if (isNull()) {
+            return null;
+        }
+
+		if (LogcatStreamer.get(getAdbName()) == null && !isConnected()) {
 			//do not use new features if execution is not inside approved cloud
 			return null;
 		}
 		LOGGER.debug("STF is enabled. Sys log will be extracted...");
         String fileName = ReportContext.getTestDir() + "/logcat.log";
-        String log = getSysLog();
+        String log = getSysLog(from, to);
         if (log.isEmpty()) {
             return null;
         }
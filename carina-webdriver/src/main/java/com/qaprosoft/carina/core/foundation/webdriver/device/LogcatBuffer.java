@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.device;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LogcatBuffer - bounded ring buffer of logcat lines. Every line is stamped with the time it was received so the log
+ * of a single test can be sliced by test start and end timestamps. The oldest lines are overwritten when the buffer is
+ * full.
+ */
+public class LogcatBuffer {
+
+    private final String[] lines;
+    private final long[] timestamps;
+
+    // index of the next slot to write
+    private int head = 0;
+    private int size = 0;
+
+    public LogcatBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Logcat buffer capacity should be positive: " + capacity);
+        }
+        this.lines = new String[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    public void add(String line) {
+        add(System.currentTimeMillis(), line);
+    }
+
+    public synchronized void add(long timestamp, String line) {
+        if (size > 0) {
+            // keep timestamps ordered even if system clock was moved back
+            timestamp = Math.max(timestamp, timestamps[(head - 1 + lines.length) % lines.length]);
+        }
+        lines[head] = line;
+        timestamps[head] = timestamp;
+        head = (head + 1) % lines.length;
+        if (size < lines.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Returns lines received in the [from, to] time range. Timestamps are not decreasing so the first matched line is
+     * found by binary search.
+     * 
+     * @param from start timestamp in ms
+     * @param to end timestamp in ms
+     * @return lines
+     */
+    public synchronized List<String> slice(long from, long to) {
+        List<String> result = new ArrayList<String>();
+        int start = tail();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[(start + mid) % lines.length] < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < size; i++) {
+            int index = (start + i) % lines.length;
+            if (timestamps[index] > to) {
+                break;
+            }
+            result.add(lines[index]);
+        }
+        return result;
+    }
+
+    /**
+     * @return timestamp of the oldest line in the buffer or Long.MAX_VALUE when buffer is empty
+     */
+    public synchronized long getOldestTimestamp() {
+        return size == 0 ? Long.MAX_VALUE : timestamps[tail()];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return lines.length;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    private int tail() {
+        return (head - size + lines.length) % lines.length;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.device;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LogcatCursor - remembers device time of the last streamed logcat line ("-v threadtime" format) so interrupted stream
+ * can be resumed without duplicating lines. Stream is reopened by "logcat -T" when device supports it (API 21+),
+ * otherwise whole device buffer is replayed. Both are inclusive so lines with the last seen timestamp which were
+ * already streamed are skipped after resume.
+ */
+class LogcatCursor {
+
+    static final int MIN_RESUMABLE_API_LEVEL = 21;
+
+    private static final Pattern TIME_PATTERN = Pattern.compile("^(\\d{2})-(\\d{2}) (\\d{2}):(\\d{2}):(\\d{2})\\.(\\d{3})\\s");
+
+    private final boolean resumable;
+
+    private long lastTime = -1;
+    private String lastTimestamp;
+    private int lastTimeLines = 0;
+
+    private boolean resuming = false;
+    private int skipped = 0;
+
+    /**
+     * @param apiLevel device API level, 0 if unknown
+     */
+    LogcatCursor(int apiLevel) {
+        this.resumable = apiLevel >= MIN_RESUMABLE_API_LEVEL;
+    }
+
+    /**
+     * @param line logcat line
+     * @return comparable device time in ms (within a year) or -1 if line has no threadtime timestamp
+     */
+    static long parseTime(String line) {
+        Matcher matcher = TIME_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return -1;
+        }
+        long time = Long.parseLong(matcher.group(1)) * 32 + Long.parseLong(matcher.group(2));
+        time = time * 24 + Long.parseLong(matcher.group(3));
+        time = time * 60 + Long.parseLong(matcher.group(4));
+        time = time * 60 + Long.parseLong(matcher.group(5));
+        return time * 1000 + Long.parseLong(matcher.group(6));
+    }
+
+    /**
+     * @return logcat arguments to start or resume the stream
+     */
+    String[] getLogcatArgs() {
+        if (lastTime < 0 || !resumable) {
+            return new String[] { "logcat", "-v", "threadtime" };
+        }
+        // quoted as device shell receives arguments as a single command line
+        return new String[] { "logcat", "-v", "threadtime", "-T", "'" + lastTimestamp + "'" };
+    }
+
+    /**
+     * Should be called before stream is reopened.
+     */
+    void resume() {
+        resuming = lastTime >= 0;
+        skipped = 0;
+    }
+
+    /**
+     * @param line logcat line
+     * @return true if line wasn't streamed yet
+     */
+    boolean accept(String line) {
+        long time = parseTime(line);
+        if (resuming) {
+            if (time < 0 || time < lastTime || (time == lastTime && skipped < lastTimeLines)) {
+                if (time == lastTime) {
+                    skipped++;
+                }
+                return false;
+            }
+            resuming = false;
+        }
+        if (time >= 0) {
+            if (time == lastTime) {
+                lastTimeLines++;
+            } else {
+                lastTime = time;
+                lastTimestamp = line.substring(0, 18);
+                lastTimeLines = 1;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.device;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+
+import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.AdbClient;
+import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.AdbExecutor;
+import com.qaprosoft.carina.core.foundation.utils.android.recorder.utils.CmdLine;
+import com.qaprosoft.carina.core.foundation.utils.common.CommonUtils;
+
+/**
+ * LogcatStreamer - keeps single background "adb logcat" stream per device and collects lines into the
+ * {@link LogcatBuffer}. adb server socket is used when available, otherwise adb process is started. Stream is reopened
+ * from the last seen device timestamp if it was interrupted and streamer stops itself after several failed attempts in
+ * a row (device is gone).
+ */
+public class LogcatStreamer implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(LogcatStreamer.class);
+
+    public static final int BUFFER_CAPACITY = 100000;
+
+    private static final int MAX_RECONNECT_ATTEMPTS = 5;
+    private static final int RECONNECT_PAUSE = 1;
+
+    private static final Map<String, LogcatStreamer> STREAMERS = new ConcurrentHashMap<String, LogcatStreamer>();
+    private static final AdbClient ADB_CLIENT = new AdbClient();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> STREAMERS.values().forEach(LogcatStreamer::stop)));
+    }
+
+    private final String adbName;
+    private final LogcatBuffer buffer;
+    private LogcatCursor cursor;
+    private final long startTime;
+
+    private volatile boolean running = true;
+    private volatile Closeable source;
+
+    private LogcatStreamer(String adbName) {
+        this.adbName = adbName;
+        this.buffer = new LogcatBuffer(BUFFER_CAPACITY);
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Starts logcat streaming for the device if it is not started yet.
+     * 
+     * @param adbName device adb name
+     * @return LogcatStreamer
+     */
+    public static LogcatStreamer start(String adbName) {
+        return STREAMERS.computeIfAbsent(adbName, name -> {
+            LogcatStreamer streamer = new LogcatStreamer(name);
+            Thread thread = new Thread(streamer, "logcat-" + name);
+            thread.setDaemon(true);
+            thread.start();
+            LOGGER.debug("Logcat streaming was started for " + name);
+            return streamer;
+        });
+    }
+
+    /**
+     * @param adbName device adb name
+     * @return active streamer or null
+     */
+    public static LogcatStreamer get(String adbName) {
+        return STREAMERS.get(adbName);
+    }
+
+    public static void stop(String adbName) {
+        LogcatStreamer streamer = STREAMERS.get(adbName);
+        if (streamer != null) {
+            streamer.stop();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        STREAMERS.remove(adbName, this);
+        AdbExecutor.closeQuietly(source);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @param from start timestamp in ms
+     * @param to end timestamp in ms
+     * @return logcat lines received in the time range
+     */
+    public List<String> getLog(long from, long to) {
+        return buffer.slice(from, to);
+    }
+
+    /**
+     * Logcat is cleared right before streaming start so lines older than streamer don't exist on device.
+     * 
+     * @param from start timestamp in ms
+     * @return true if buffer still contains all lines received since the timestamp
+     */
+    public boolean isCovered(long from) {
+        return buffer.size() < buffer.capacity() || buffer.getOldestTimestamp() <= Math.max(from, startTime);
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public void run() {
+        cursor = new LogcatCursor(getApiLevel());
+        int failures = 0;
+        while (running) {
+            try {
+                if (readLines(open()) > 0) {
+                    failures = 0;
+                } else {
+                    failures++;
+                }
+            } catch (IOException e) {
+                failures++;
+                LOGGER.debug("Logcat stream was interrupted for " + adbName + ": " + e.getMessage());
+            } finally {
+                AdbExecutor.closeQuietly(source);
+            }
+
+            if (failures >= MAX_RECONNECT_ATTEMPTS) {
+                LOGGER.warn("Logcat streaming was stopped for " + adbName + " after " + failures + " failed attempts.");
+                stop();
+            } else if (running) {
+                CommonUtils.pause(RECONNECT_PAUSE);
+            }
+        }
+    }
+
+    private InputStream open() throws IOException {
+        // resume from the last seen line instead of replaying whole device buffer
+        cursor.resume();
+        String[] args = cursor.getLogcatArgs();
+        try {
+            InputStream stream = ADB_CLIENT.shellStream(adbName, String.join(" ", args));
+            source = stream;
+            return stream;
+        } catch (IOException e) {
+            if (!AdbClient.isConnectionError(e)) {
+                throw e;
+            }
+            LOGGER.debug("adb server is not available, adb process will be used for logcat streaming: " + e.getMessage());
+        }
+
+        String[] cmd = CmdLine.insertCommandsAfter(new AdbExecutor().getDefaultCmd(), "-s", adbName, "shell");
+        cmd = CmdLine.insertCommandsAfter(cmd, args);
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        source = () -> process.destroy();
+        return process.getInputStream();
+    }
+
+    /**
+     * @return number of logcat lines read, adb errors and logcat usage output are not counted and not buffered
+     */
+    private int readLines(InputStream stream) throws IOException {
+        int count = 0;
+        BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        while (running && (line = in.readLine()) != null) {
+            if (LogcatCursor.parseTime(line) >= 0) {
+                count++;
+            } else if (count == 0) {
+                continue;
+            }
+            if (cursor.accept(line)) {
+                buffer.add(line);
+            }
+        }
+        return count;
+    }
+
+    private int getApiLevel() {
+        String[] cmd = CmdLine.insertCommandsAfter(new AdbExecutor().getDefaultCmd(), "-s", adbName, "shell", "getprop",
+                "ro.build.version.sdk");
+        try {
+            for (String line : new AdbExecutor().execute(cmd)) {
+                if (line.trim().matches("\\d+")) {
+                    return Integer.parseInt(line.trim());
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to detect API level of " + adbName + ": " + e.getMessage());
+        }
+        LOGGER.debug("API level of " + adbName + " is unknown, logcat stream won't be resumed by time.");
+        return 0;
+    }
+
+}
@@ -26,6 +26,7 @@ import org.testng.ITestResult;
 import org.testng.Reporter;
 
 import com.qaprosoft.carina.core.foundation.webdriver.Screenshot;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ElementCache;
 import com.qaprosoft.zafira.client.ZafiraSingleton;
 import com.qaprosoft.zafira.models.dto.TestArtifactType;
 
@@ -55,22 +56,28 @@ public class DriverListener implements WebDriverEventListener {
 
     @Override
     public void afterAlertAccept(WebDriver driver) {
+        ElementCache.invalidate(driver);
         onAfterAction("Alert accepted", driver);
     }
 
     @Override
     public void afterAlertDismiss(WebDriver driver) {
+        ElementCache.invalidate(driver);
         onAfterAction("Alert dismissed", driver);
     }
 
     @Override
     public void afterChangeValueOf(WebElement element, WebDriver driver, CharSequence[] value) {
+        // typing could re-render the page (e.g. autocomplete) so cached elements may not match locators anymore
+        ElementCache.invalidate(driver);
         String comment = String.format("Text '%s' typed", charArrayToString(value));
         captureScreenshot(comment, driver, element, false);
     }
 
     @Override
     public void afterClickOn(WebElement element, WebDriver driver) {
+        // click could navigate or re-render the page so cached elements can't be trusted anymore
+        ElementCache.invalidate(driver);
         String comment = "Element clicked";
         captureScreenshot(comment, driver, element, false);
     }
@@ -82,28 +89,34 @@ public class DriverListener implements WebDriverEventListener {
 
     @Override
     public void afterNavigateBack(WebDriver driver) {
+        ElementCache.invalidate(driver);
         onAfterAction("Navigated back", driver);
     }
 
     @Override
     public void afterNavigateForward(WebDriver driver) {
+        ElementCache.invalidate(driver);
         onAfterAction("Navigated forward", driver);
     }
 
     @Override
     public void afterNavigateRefresh(WebDriver driver) {
+        ElementCache.invalidate(driver);
         onAfterAction("Page refreshed", driver);
     }
 
     @Override
     public void afterNavigateTo(String url, WebDriver driver) {
+        ElementCache.invalidate(driver);
         String comment = String.format("URL '%s' opened", url);
         onAfterAction(comment, driver);
     }
 
     @Override
     public void afterScript(String script, WebDriver driver) {
-        // Do nothing
+        if (ElementCache.isMutatingScript(script)) {
+            ElementCache.invalidate(driver);
+        }
     }
 
     @Override
@@ -233,8 +246,7 @@ public class DriverListener implements WebDriverEventListener {
 
     @Override
     public void afterSwitchToWindow(String arg0, WebDriver arg1) {
-        // do nothing
-
+        ElementCache.invalidate(arg1);
     }
 
     @Override
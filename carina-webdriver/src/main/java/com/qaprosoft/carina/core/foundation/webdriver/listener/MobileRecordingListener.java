@@ -71,11 +71,12 @@ public class MobileRecordingListener<O1 extends BaseStartScreenRecordingOptions,
 			if (DriverCommand.QUIT.equals(command.getName())) {
 				onBeforeEvent();
 				try {
-					String data = commandExecutor
+					// base64 payload is kept as is and decoded while it is streamed to ftp
+					CharSequence data = (CharSequence) commandExecutor
 							.execute(new Command(command.getSessionId(), MobileCommand.STOP_RECORDING_SCREEN,
 									MobileCommand.stopRecordingScreenCommand(
 											(BaseStopScreenRecordingOptions) stopRecordingOpt).getValue()))
-							.getValue().toString();
+							.getValue();
 					LOGGER.debug("Video will be uploaded to ftp. Test thread ID : " + Thread.currentThread().getId());
 					CompletableFuture.runAsync(() -> {uploadToFTP(data);});
 					if (ZafiraSingleton.INSTANCE.isRunning()) {
@@ -123,7 +124,7 @@ public class MobileRecordingListener<O1 extends BaseStartScreenRecordingOptions,
 
 	// To get host address for video uploading we have to use screen_record_ftp parameter. 
 	// To generate file name we have to extract it from video artifact link.
-	private void uploadToFTP(String data) {
+	private void uploadToFTP(CharSequence data) {
 	    LOGGER.debug("Uploading in async mode started in thread ID : " + Thread.currentThread().getId());
 	    LOGGER.debug("Link to video artifact : " + videoArtifact.getLink());
 	    LOGGER.debug("Screen record ftp : " + R.CONFIG.get("screen_record_ftp"));
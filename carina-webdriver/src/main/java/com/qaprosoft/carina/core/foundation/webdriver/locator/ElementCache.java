@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * ElementCache - driver scoped cache of resolved elements keyed by search context and locator. Cache is cleared on
+ * navigation, clicks, typing and DOM mutating scripts reported by DriverListener and released when driver is quit.
+ */
+public final class ElementCache {
+
+    private static final int MAX_SIZE = 1000;
+
+    // DOM modification, events, navigation, jQuery and mobile commands
+    private static final Pattern MUTATING_SCRIPT = Pattern.compile("mobile:|\\$\\(|jQuery|classList\\."
+            + "|\\.(click|submit|focus|blur|remove|reset|write|writeln|dispatchEvent|appendChild|removeChild|insertBefore"
+            + "|replaceChild|insertAdjacentHTML|insertAdjacentElement|setAttribute|removeAttribute|pushState|replaceState)\\s*\\("
+            + "|location\\.(assign|replace|reload)\\s*\\("
+            + "|\\.(innerHTML|outerHTML|innerText|textContent|value|checked|selected|disabled|className|href|hash|location)\\s*=(?!=)"
+            + "|\\bstyle\\.\\w+\\s*=(?!=)");
+
+    private static final Map<WebDriver, ElementCache> CACHES = new ConcurrentHashMap<WebDriver, ElementCache>();
+
+    private final Map<Key, WebElement> elements = new ConcurrentHashMap<Key, WebElement>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private ElementCache() {
+    }
+
+    /**
+     * @param driver WebDriver
+     * @return element cache of the driver or null if driver is unknown
+     */
+    public static ElementCache getInstance(WebDriver driver) {
+        if (driver == null) {
+            return null;
+        }
+        return CACHES.computeIfAbsent(unwrap(driver), d -> new ElementCache());
+    }
+
+    /**
+     * Drops all cached elements of the driver, e.g. after navigation.
+     * 
+     * @param driver WebDriver
+     */
+    public static void invalidate(WebDriver driver) {
+        // cache is created if needed so the event is noticed by generation readers even before first element is cached
+        ElementCache cache = getInstance(driver);
+        if (cache != null) {
+            cache.elements.clear();
+            cache.generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns number of invalidations of the driver cache. Can be used to detect navigation and DOM mutation events
+     * between two calls.
+     * 
+     * @param driver WebDriver
+     * @return generation of the driver cache or -1 if driver is unknown
+     */
+    public static long getGeneration(WebDriver driver) {
+        if (driver == null) {
+            return -1;
+        }
+        ElementCache cache = CACHES.get(unwrap(driver));
+        return cache != null ? cache.generation.get() : -1;
+    }
+
+    /**
+     * Detects scripts which could change DOM, page state or navigate. Read-only scripts like state polling or
+     * rectangles collection keep the cache as stale elements are re-resolved on use anyway.
+     * 
+     * @param script javascript or mobile command
+     * @return true if cache should be invalidated after the script
+     */
+    public static boolean isMutatingScript(String script) {
+        return script != null && MUTATING_SCRIPT.matcher(script).find();
+    }
+
+    /**
+     * Removes cache of the driver. Should be called when driver is quit.
+     * 
+     * @param driver WebDriver
+     */
+    public static void release(WebDriver driver) {
+        if (driver != null) {
+            CACHES.remove(unwrap(driver));
+        }
+    }
+
+    static WebDriver unwrap(WebDriver driver) {
+        while (driver instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) driver).getWrappedDriver();
+            if (wrapped == null || wrapped == driver) {
+                break;
+            }
+            driver = wrapped;
+        }
+        return driver;
+    }
+
+    public WebElement get(SearchContext searchContext, By by) {
+        return elements.get(new Key(searchContext, by));
+    }
+
+    public void put(SearchContext searchContext, By by, WebElement element) {
+        if (elements.size() >= MAX_SIZE) {
+            elements.clear();
+        }
+        elements.put(new Key(searchContext, by), element);
+    }
+
+    public boolean remove(SearchContext searchContext, By by) {
+        return elements.remove(new Key(searchContext, by)) != null;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    private static final class Key {
+        // search context is compared by identity as proxy elements resolve equals/hashCode via remote calls
+        private final SearchContext searchContext;
+        private final By by;
+
+        private Key(SearchContext searchContext, By by) {
+            this.searchContext = searchContext;
+            this.by = by;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return searchContext == key.searchContext && by.equals(key.by);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(searchContext) + by.hashCode();
+        }
+    }
+
+}
@@ -17,7 +17,10 @@ package com.qaprosoft.carina.core.foundation.webdriver.locator;
 
 import java.io.File;
 import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +33,7 @@ import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.slf4j.Logger;
@@ -41,6 +45,7 @@ import com.qaprosoft.carina.core.foundation.webdriver.ai.Label;
 import com.qaprosoft.carina.core.foundation.webdriver.ai.impl.AliceRecognition;
 import com.qaprosoft.carina.core.foundation.webdriver.decorator.annotations.CaseInsensitiveXPath;
 import com.qaprosoft.carina.core.foundation.webdriver.decorator.annotations.DisableCacheLookup;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.internal.LocatingElementHandler;
 
 /**
  * The default element locator, which will lazily locate an element or an
@@ -52,11 +57,16 @@ import com.qaprosoft.carina.core.foundation.webdriver.decorator.annotations.Disa
 public class ExtendedElementLocator implements ElementLocator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedElementLocator.class);
 
+    private static final Pattern CASE_INSENSITIVE_ATTRIBUTE_PATTERN = Pattern.compile("(\\[?(contains\\(|starts-with\\(|ends-with\\(|\\,|\\[|\\=|\\band\\b\\s?(\\bcontains\\b\\()?|\\bor\\b\\s?(\\bcontains\\b\\()?))(.+?(\\(\\))?)((?=\\,|\\)|\\=|\\]|\\band\\b|\\bor\\b)\\]?)");
+
+    // rewritten locators per source locator string, By.xpath is immutable so it is safe to share
+    private static final Map<String, By> CASE_INSENSITIVE_LOCATORS = new ConcurrentHashMap<String, By>();
+
     private final SearchContext searchContext;
     private boolean shouldCache;
     private boolean caseInsensitive;
     private By by;
-    private WebElement cachedElement;
+    private WebDriver driver;
 
     private String aiCaption;
     private Label aiLabel;
@@ -81,6 +91,9 @@ public class ExtendedElementLocator implements ElementLocator {
             }
             if (field.isAnnotationPresent(CaseInsensitiveXPath.class)) {
                 this.caseInsensitive = true;
+                if (by != null && !by.toString().contains("translate(")) {
+                    this.by = toCaseInsensitive(by.toString());
+                }
             }
         }
         // Elements to be recognized by Alice
@@ -95,9 +108,13 @@ public class ExtendedElementLocator implements ElementLocator {
      * Find the element.
      */
     public WebElement findElement() {
-        if (cachedElement != null && shouldCache) {
-        	LOGGER.debug("returning element from cache: " + by);
-            return cachedElement;
+        ElementCache cache = getCache();
+        if (cache != null) {
+            WebElement cachedElement = cache.get(searchContext, by);
+            if (cachedElement != null) {
+                LOGGER.debug("returning element from cache: " + by);
+                return cachedElement;
+            }
         }
 
         WebElement element = null;
@@ -105,9 +122,6 @@ public class ExtendedElementLocator implements ElementLocator {
         NoSuchElementException exception = null;
         // Finding element using Selenium
         if (by != null) {
-            if (caseInsensitive && !by.toString().contains("translate(")) {
-                by = toCaseInsensitive(by.toString());
-            }
             try {
             	element = searchContext.findElement(by);
             } catch (NoSuchElementException e) {
@@ -117,7 +131,7 @@ public class ExtendedElementLocator implements ElementLocator {
             	elements = searchContext.findElements(by);
             	if (!elements.isEmpty()) {
             		exception = null;
-            		element = searchContext.findElements(by).get(0);
+            		element = elements.get(0);
             	}
                 LOGGER.debug("Unable to find element: " + e.getMessage());
             }
@@ -133,12 +147,47 @@ public class ExtendedElementLocator implements ElementLocator {
         }
 
 		// 1. enable cache for successfully discovered element to minimize selenium calls
-        if (shouldCache) {
-            cachedElement = element;
+        if (cache != null) {
+            cache.put(searchContext, by, element);
         }
         return element;
     }
 
+    /**
+     * Removes cached element of the locator.
+     * 
+     * @return true if element was cached
+     */
+    public boolean invalidate() {
+        ElementCache cache = getCache();
+        return cache != null && cache.remove(searchContext, by);
+    }
+
+    private ElementCache getCache() {
+        if (!shouldCache || by == null) {
+            return null;
+        }
+        if (driver == null) {
+            driver = getDriver(searchContext);
+        }
+        return ElementCache.getInstance(driver);
+    }
+
+    private static WebDriver getDriver(SearchContext searchContext) {
+        if (searchContext instanceof Proxy && Proxy.getInvocationHandler(searchContext) instanceof LocatingElementHandler) {
+            // root element of ui object: take driver from the root locator without element lookup
+            Object locator = ((LocatingElementHandler) Proxy.getInvocationHandler(searchContext)).getLocator();
+            return locator instanceof ExtendedElementLocator ? getDriver(((ExtendedElementLocator) locator).searchContext) : null;
+        }
+        if (searchContext instanceof WebDriver) {
+            return (WebDriver) searchContext;
+        }
+        if (searchContext instanceof WrapsDriver) {
+            return ((WrapsDriver) searchContext).getWrappedDriver();
+        }
+        return null;
+    }
+
     /**
      * Find the element list.
      */
@@ -186,9 +235,12 @@ public class ExtendedElementLocator implements ElementLocator {
      * @return By
      */
     public static By toCaseInsensitive(String locator) {
+        return CASE_INSENSITIVE_LOCATORS.computeIfAbsent(locator, ExtendedElementLocator::rewriteCaseInsensitive);
+    }
+
+    private static By rewriteCaseInsensitive(String locator) {
         String xpath = StringUtils.remove(locator, "By.xpath: ");
-        String attributePattern = "(\\[?(contains\\(|starts-with\\(|ends-with\\(|\\,|\\[|\\=|\\band\\b\\s?(\\bcontains\\b\\()?|\\bor\\b\\s?(\\bcontains\\b\\()?))(.+?(\\(\\))?)((?=\\,|\\)|\\=|\\]|\\band\\b|\\bor\\b)\\]?)";
-        Matcher matcher = Pattern.compile(attributePattern).matcher(xpath);
+        Matcher matcher = CASE_INSENSITIVE_ATTRIBUTE_PATTERN.matcher(xpath);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
             String replacement = matcher.group(1) + "translate(" + matcher.group(5)
@@ -16,6 +16,8 @@
 package com.qaprosoft.carina.core.foundation.webdriver.locator;
 
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,45 +38,70 @@ public class LocalizedAnnotations extends Annotations {
     private static final Logger LOGGER = Logger.getLogger(LocalizedAnnotations.class);
     private static Pattern L10N_PATTERN = Pattern.compile(SpecialKeywords.L10N_PATTERN);
 
+    private static final Map<Field, ByTemplate> TEMPLATES = new ConcurrentHashMap<Field, ByTemplate>();
+
     public LocalizedAnnotations(Field field) {
         super(field);
     }
 
     @Override
     public By buildBy() {
+        // annotations are parsed once per field, only localized locators are resolved every time
+        return TEMPLATES.computeIfAbsent(getField(), f -> new ByTemplate(f, super.buildBy())).build();
+    }
 
-        By by = super.buildBy();
-        String param = by.toString();
-        
-        // replace by using localization pattern
-        Matcher matcher = L10N_PATTERN.matcher(param);
-        while (matcher.find()) {
-            int start = param.indexOf(SpecialKeywords.L10N + ":") + 5;
-            int end = param.indexOf("}");
-            String key = param.substring(start, end);
-			param = StringUtils.replace(param, matcher.group(), L10N.getText(key));
+    /**
+     * Parsed field locator. By is prebuilt if locator doesn't contain L10N keys as it can't be changed.
+     */
+    private static final class ByTemplate {
+        private final Field field;
+        private final By by;
+        private final By constantBy;
+
+        private ByTemplate(Field field, By by) {
+            this.field = field;
+            this.by = by;
+            this.constantBy = L10N_PATTERN.matcher(by.toString()).find() ? null : resolve();
         }
 
-        if (getField().isAnnotationPresent(Predicate.class)) {
-            // TODO: analyze howto determine iOS or Android predicate
-            param = StringUtils.remove(param, "By.xpath: ");
-            by = MobileBy.iOSNsPredicateString(param);
-            // by = MobileBy.AndroidUIAutomator(param);
-        } else if (getField().isAnnotationPresent(ClassChain.class)) {
-            param = StringUtils.remove(param, "By.xpath: ");
-            by = MobileBy.iOSClassChain(param);
-        } else if (getField().isAnnotationPresent(AccessibilityId.class)) {
-            param = StringUtils.remove(param, "By.name: ");
-            by = MobileBy.AccessibilityId(param);
-        } else if (getField().isAnnotationPresent(ExtendedFindBy.class)) {
-            LOGGER.debug("Annotation ExtendedFindBy has been detected. Returning locator : " + by);
-        } else {
-            by = createBy(param);
+        private By build() {
+            return constantBy != null ? constantBy : resolve();
+        }
+
+        private By resolve() {
+            By by = this.by;
+            String param = by.toString();
+
+            // replace by using localization pattern
+            Matcher matcher = L10N_PATTERN.matcher(param);
+            while (matcher.find()) {
+                int start = param.indexOf(SpecialKeywords.L10N + ":") + 5;
+                int end = param.indexOf("}");
+                String key = param.substring(start, end);
+                param = StringUtils.replace(param, matcher.group(), L10N.getText(key));
+            }
+
+            if (field.isAnnotationPresent(Predicate.class)) {
+                // TODO: analyze howto determine iOS or Android predicate
+                param = StringUtils.remove(param, "By.xpath: ");
+                by = MobileBy.iOSNsPredicateString(param);
+                // by = MobileBy.AndroidUIAutomator(param);
+            } else if (field.isAnnotationPresent(ClassChain.class)) {
+                param = StringUtils.remove(param, "By.xpath: ");
+                by = MobileBy.iOSClassChain(param);
+            } else if (field.isAnnotationPresent(AccessibilityId.class)) {
+                param = StringUtils.remove(param, "By.name: ");
+                by = MobileBy.AccessibilityId(param);
+            } else if (field.isAnnotationPresent(ExtendedFindBy.class)) {
+                LOGGER.debug("Annotation ExtendedFindBy has been detected. Returning locator : " + by);
+            } else {
+                by = createBy(param);
+            }
+            return by;
         }
-        return by;
     }
 
-    private By createBy(String locator) {
+    private static By createBy(String locator) {
         if (locator.startsWith("id=")) {
             return By.id(StringUtils.remove(locator, "id="));
         } else if (locator.startsWith("name=")) {
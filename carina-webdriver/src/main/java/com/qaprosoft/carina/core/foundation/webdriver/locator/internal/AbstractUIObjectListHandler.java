@@ -15,12 +15,20 @@
  *******************************************************************************/
 package com.qaprosoft.carina.core.foundation.webdriver.locator.internal;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 import org.apache.log4j.Logger;
 import org.openqa.selenium.By;
@@ -44,6 +52,7 @@ import com.qaprosoft.carina.core.foundation.performance.Timer;
 import com.qaprosoft.carina.core.foundation.utils.Configuration;
 import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
 import com.qaprosoft.carina.core.foundation.webdriver.decorator.ExtendedFieldDecorator;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ElementCache;
 import com.qaprosoft.carina.core.gui.AbstractUIObject;
 
 public class AbstractUIObjectListHandler<T extends AbstractUIObject> implements InvocationHandler {
@@ -53,7 +62,22 @@ public class AbstractUIObjectListHandler<T extends AbstractUIObject> implements
     private String name;
 
     private By locatorBy;
-    private Logger LOGGER = Logger.getLogger(ExtendedFieldDecorator.class);
+    private static final Logger LOGGER = Logger.getLogger(ExtendedFieldDecorator.class);
+
+    // time in ms while found elements are reused by the subsequent list calls
+    private static final long SNAPSHOT_TTL = 1000;
+
+    // snapshot is shared between calls so list methods which modify the list or return its modifiable view are
+    // invoked on a copy, i.e. modifications aren't visible to the next calls as before
+    private static final Set<String> MODIFYING_METHODS = new HashSet<String>(Arrays.asList("add", "addAll", "remove",
+            "removeAll", "removeIf", "retainAll", "replaceAll", "set", "sort", "clear", "iterator", "listIterator",
+            "subList"));
+
+    private static final Map<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+    private final BiFunction<WebElement, Integer, T> factory;
+
+    private volatile UIObjectListSnapshot<T> snapshot;
 
     public AbstractUIObjectListHandler(Class<?> clazz, WebDriver webDriver, ElementLocator locator, String name) {
         this.clazz = clazz;
@@ -61,11 +85,44 @@ public class AbstractUIObjectListHandler<T extends AbstractUIObject> implements
         this.locator = locator;
         this.name = name;
         this.locatorBy = getLocatorBy(locator);
+        this.factory = this::createUIObject;
+    }
+
+    AbstractUIObjectListHandler(WebDriver webDriver, ElementLocator locator, BiFunction<WebElement, Integer, T> factory) {
+        this.webDriver = webDriver;
+        this.locator = locator;
+        this.locatorBy = getLocatorBy(locator);
+        this.factory = factory;
     }
 
-    @SuppressWarnings("unchecked")
     public Object invoke(Object object, Method method, Object[] objects) throws Throwable {
-    	
+        List<T> list = getSnapshot();
+        if (MODIFYING_METHODS.contains(method.getName())) {
+            list = new ArrayList<T>(list);
+        }
+        try {
+            return method.invoke(list, objects);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns list of UI objects. Elements found during SNAPSHOT_TTL are reused by the subsequent list calls, e.g.
+     * size() and get(i) inside one loop, while locator finds exactly the same elements and there were no navigation
+     * or DOM mutation events (see {@link ElementCache#getGeneration(WebDriver)}) in between.
+     *
+     * @return List of UI objects
+     */
+    private List<T> getSnapshot() {
+        long generation = ElementCache.getGeneration(webDriver);
+        UIObjectListSnapshot<T> current = snapshot;
+        if (current != null && current.getAge() < SNAPSHOT_TTL && current.getGeneration() == generation
+                && current.hasElements(findElementsNoWait())) {
+            return current;
+        }
+        snapshot = null;
+
 		// Hotfix for huge and expected regression in carina: we lost managed
 		// time delays with lists manipulations
 		// Temporary we are going to restore explicit waiter here with hardcoded
@@ -84,37 +141,61 @@ public class AbstractUIObjectListHandler<T extends AbstractUIObject> implements
 			elements = webDriver.findElements(locatorBy);
 		}
 
-        List<T> uIObjects = new ArrayList<T>();
-        int index = 0;
-        if (elements != null) {
-            for (WebElement element : elements) {
-                T uiObject;
-                try {
-                    uiObject = (T) clazz.getConstructor(WebDriver.class, SearchContext.class)
-                            .newInstance(
-                                    webDriver, element);
-                } catch (NoSuchMethodException e) {
-                    LOGGER.error("Implement appropriate AbstractUIObject constructor for auto-initialization: "
-                            + e.getMessage());
-                    throw new RuntimeException(
-                            "Implement appropriate AbstractUIObject constructor for auto-initialization: "
-                                    + e.getMessage(),
-                            e);
-                }
-                uiObject.setName(String.format("%s - %d", name, index++));
-                uiObject.setRootElement(element);
-                uiObject.setRootBy(locatorBy);
-                uIObjects.add(uiObject);
-            }
+        if (elements == null || elements.isEmpty()) {
+            // empty list isn't cached to wait for elements again during the next call
+            snapshot = null;
+            return new ArrayList<T>();
         }
 
+        current = new UIObjectListSnapshot<T>(new ArrayList<WebElement>(elements), factory, generation);
+        snapshot = current;
+        return current;
+    }
+
+    private List<WebElement> findElementsNoWait() {
         try {
-            return method.invoke(uIObjects, objects);
+            return locator.findElements();
+        } catch (WebDriverException e) {
+            // items were removed or page was changed: snapshot will be rebuilt with explicit wait
+            return Collections.emptyList();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T createUIObject(WebElement element, int index) {
+        T uiObject;
+        try {
+            uiObject = (T) getConstructor(clazz).newInstance(webDriver, element);
         } catch (InvocationTargetException e) {
-            throw e.getCause();
+            throw new RuntimeException("Unable to create " + clazz.getName() + " instance: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Unable to create " + clazz.getName() + " instance: " + e.getMessage(), e);
         }
+        uiObject.setName(String.format("%s - %d", name, index));
+        uiObject.setRootElement(element);
+        uiObject.setRootBy(locatorBy);
+        return uiObject;
     }
-    
+
+    private static Constructor<?> getConstructor(Class<?> clazz) {
+        Constructor<?> constructor = CONSTRUCTORS.get(clazz);
+        if (constructor == null) {
+            try {
+                constructor = clazz.getConstructor(WebDriver.class, SearchContext.class);
+            } catch (NoSuchMethodException e) {
+                LOGGER.error("Implement appropriate AbstractUIObject constructor for auto-initialization: "
+                        + e.getMessage());
+                throw new RuntimeException(
+                        "Implement appropriate AbstractUIObject constructor for auto-initialization: "
+                                + e.getMessage(),
+                        e);
+            }
+            CONSTRUCTORS.put(clazz, constructor);
+        }
+        return constructor;
+    }
+
     private By getLocatorBy(ElementLocator locator) {
     	By rootBy = null;
     	
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.log4j.Logger;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ExtendedElementLocator;
+
+/**
+ * LocatingElementHandler - resolves element via locator for each call. If cached element is detected as stale on use
+ * it is dropped from the cache and call is repeated once with freshly found element.
+ */
+public class LocatingElementHandler implements InvocationHandler {
+    private static final Logger LOGGER = Logger.getLogger(LocatingElementHandler.class);
+
+    private final ElementLocator locator;
+
+    public LocatingElementHandler(ElementLocator locator) {
+        this.locator = locator;
+    }
+
+    public ElementLocator getLocator() {
+        return locator;
+    }
+
+    public Object invoke(Object object, Method method, Object[] objects) throws Throwable {
+        WebElement element;
+        try {
+            element = locator.findElement();
+        } catch (NoSuchElementException e) {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator.toString();
+            }
+            throw e;
+        }
+
+        if ("getWrappedElement".equals(method.getName())) {
+            return element;
+        }
+
+        try {
+            return method.invoke(element, objects);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof StaleElementReferenceException && locator instanceof ExtendedElementLocator
+                    && ((ExtendedElementLocator) locator).invalidate()) {
+                LOGGER.debug("Cached element is stale, searching it again: " + locator);
+                try {
+                    return method.invoke(locator.findElement(), objects);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator.internal;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+
+import org.openqa.selenium.WebElement;
+
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ElementCache;
+
+/**
+ * UIObjectListSnapshot - immutable list of UI objects built lazily on top of elements found once. Every UI object is
+ * created only on the first access to its index. Snapshot remembers {@link ElementCache} generation it was built in so
+ * it can be dropped after navigation and DOM mutation events.
+ *
+ * @param <T> UI object type
+ */
+class UIObjectListSnapshot<T> extends AbstractList<T> implements RandomAccess {
+    private final List<WebElement> elements;
+    private final BiFunction<WebElement, Integer, T> factory;
+    private final Object[] items;
+    private final long generation;
+    private final long created = System.currentTimeMillis();
+
+    UIObjectListSnapshot(List<WebElement> elements, BiFunction<WebElement, Integer, T> factory) {
+        this(elements, factory, -1);
+    }
+
+    UIObjectListSnapshot(List<WebElement> elements, BiFunction<WebElement, Integer, T> factory, long generation) {
+        this.elements = elements;
+        this.factory = factory;
+        this.items = new Object[elements.size()];
+        this.generation = generation;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T get(int index) {
+        if (items[index] == null) {
+            items[index] = factory.apply(elements.get(index), index);
+        }
+        return (T) items[index];
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * @param found elements found by the locator right now
+     * @return true if the same elements are found, i.e. no items were added, removed or re-rendered
+     */
+    boolean hasElements(List<WebElement> found) {
+        // remote elements are compared by id without remote calls
+        return elements.equals(found);
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    long getAge() {
+        return System.currentTimeMillis() - created;
+    }
+
+}
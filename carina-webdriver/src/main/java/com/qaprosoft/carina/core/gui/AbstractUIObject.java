@@ -60,7 +60,8 @@ public abstract class AbstractUIObject extends DriverHelper {
     public AbstractUIObject(WebDriver driver, SearchContext searchContext) {
         super(driver);
         ExtendedElementLocatorFactory factory = new ExtendedElementLocatorFactory(searchContext, (driver != searchContext) ? true : false);
-        PageFactory.initElements(new ExtendedFieldDecorator(factory, driver), this);
+        // the same as PageFactory.initElements but decoratable fields are collected once per class
+        new ExtendedFieldDecorator(factory, driver).initElements(this);
     }
 
     /**
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.utils.factory;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.factory.DeviceType.Type;
+
+public class PageVariantIndexTest {
+
+    @Test
+    public void testExactVersion() {
+        Assert.assertEquals(PageVariantIndex.resolve(VersionedPage.class, Type.ANDROID_PHONE, "9.0"), ExactVersionPage.class);
+        Assert.assertEquals(PageVariantIndex.resolve(VersionedPage.class, Type.ANDROID_PHONE, "8.1"), MajorVersionPage.class);
+    }
+
+    @Test
+    public void testMajorVersion() {
+        Assert.assertEquals(PageVariantIndex.resolve(VersionedPage.class, Type.ANDROID_PHONE, "8.0"), MajorVersionPage.class);
+        Assert.assertEquals(PageVariantIndex.resolve(VersionedPage.class, Type.ANDROID_PHONE, "9.1"), ExactVersionPage.class);
+    }
+
+    @Test
+    public void testDeviceType() {
+        Assert.assertEquals(PageVariantIndex.resolve(VersionedPage.class, Type.ANDROID_TABLET, "7.0"), TabletPage.class);
+    }
+
+    @Test
+    public void testFamilyFallback() {
+        Assert.assertEquals(PageVariantIndex.resolve(FamilyPage.class, Type.ANDROID_TABLET, "9.0"), AndroidFamilyPage.class);
+        Assert.assertEquals(PageVariantIndex.resolve(FamilyPage.class, Type.IOS_TABLET, "12.1"), IosFamilyPage.class);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = "There is no any class that satisfy.*")
+    public void testNoVariant() {
+        PageVariantIndex.resolve(FamilyPage.class, Type.DESKTOP, "1");
+    }
+
+    @Test
+    public void testConstructorIsCached() throws NoSuchMethodException {
+        Constructor<ExactVersionPage> expected = ExactVersionPage.class.getConstructor(String.class);
+        AtomicInteger lookups = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Constructor<? extends VersionedPage> constructor = PageVariantIndex.getConstructor(ExactVersionPage.class,
+                    new Object[] { "title" }, () -> {
+                        lookups.incrementAndGet();
+                        return expected;
+                    });
+            Assert.assertEquals(constructor, expected);
+        }
+        Assert.assertEquals(lookups.get(), 1);
+    }
+
+    public static class VersionedPage {
+    }
+
+    @DeviceType(pageType = Type.ANDROID_PHONE, parentClass = VersionedPage.class, version = { "9.0" })
+    public static class ExactVersionPage extends VersionedPage {
+        public ExactVersionPage(String title) {
+        }
+    }
+
+    @DeviceType(pageType = Type.ANDROID_PHONE, parentClass = VersionedPage.class, version = { "8.1" })
+    public static class MajorVersionPage extends VersionedPage {
+    }
+
+    @DeviceType(pageType = Type.ANDROID_TABLET, parentClass = VersionedPage.class)
+    public static class TabletPage extends VersionedPage {
+    }
+
+    public static class FamilyPage {
+    }
+
+    @DeviceType(pageType = Type.ANDROID_PHONE, parentClass = FamilyPage.class)
+    public static class AndroidFamilyPage extends FamilyPage {
+    }
+
+    @DeviceType(pageType = Type.IOS_PHONE, parentClass = FamilyPage.class)
+    public static class IosFamilyPage extends FamilyPage {
+    }
+
+    // ignored variants: without annotation and declared for another parent
+    public static class NotAnnotatedPage extends FamilyPage {
+    }
+
+    @DeviceType(pageType = Type.DESKTOP, parentClass = VersionedPage.class)
+    public static class AnotherParentPage extends FamilyPage {
+    }
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementsStateResolverTest {
+
+    @Test
+    public void testSingleScriptCallPerPoll() {
+        WebDriver driver = createDriver(true);
+
+        boolean[] states = new ElementsStateResolver(driver, 10).resolve(ElementsStateResolver.State.VISIBLE,
+                ElementsStateResolver.Match.ALL, 5, By.id("a"), By.xpath("//b"), By.cssSelector(".c"));
+
+        Assert.assertEquals(states, new boolean[] { true, true, true });
+        verify((JavascriptExecutor) driver, times(1)).executeScript(anyString(), any(), any());
+        verify(driver, never()).findElements(any(By.class));
+    }
+
+    @Test
+    public void testSharedTimeout() {
+        WebDriver driver = createDriver(true);
+
+        long start = System.currentTimeMillis();
+        boolean[] states = new ElementsStateResolver(driver, 100).resolve(ElementsStateResolver.State.PRESENT,
+                ElementsStateResolver.Match.ALL, 1, By.id("a"), By.id("missing1"), By.id("missing2"));
+        long duration = System.currentTimeMillis() - start;
+
+        Assert.assertEquals(states, new boolean[] { true, false, false });
+        Assert.assertTrue(duration < 2000, "Timeout is not shared between elements: " + duration);
+        verify((JavascriptExecutor) driver, atLeast(2)).executeScript(anyString(), any(), any());
+    }
+
+    @Test
+    public void testAnyMatch() {
+        WebDriver driver = createDriver(true);
+
+        long start = System.currentTimeMillis();
+        boolean[] states = new ElementsStateResolver(driver, 100).resolve(ElementsStateResolver.State.PRESENT,
+                ElementsStateResolver.Match.ANY, 5, By.id("missing"), By.name("a"));
+
+        Assert.assertEquals(states, new boolean[] { false, true });
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void testLookupFallback() {
+        WebDriver driver = createDriver(false);
+
+        boolean[] states = new ElementsStateResolver(driver, 10).resolve(ElementsStateResolver.State.PRESENT,
+                ElementsStateResolver.Match.ALL, 1, By.id("a"), By.linkText("b"));
+
+        Assert.assertEquals(states, new boolean[] { true, true });
+        verify(driver, times(2)).findElements(any(By.class));
+    }
+
+    @Test
+    public void testToScriptLocator() {
+        Assert.assertEquals(ElementsStateResolver.toScriptLocator(By.xpath("//div[@id='a']")).get(1), "//div[@id='a']");
+        Assert.assertEquals(ElementsStateResolver.toScriptLocator(By.className("c")).get(0), "class");
+        Assert.assertNull(ElementsStateResolver.toScriptLocator(By.linkText("link")));
+    }
+
+    /**
+     * Creates driver where every locator except "missing*" ones is present and visible.
+     */
+    private static WebDriver createDriver(boolean javascript) {
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+
+        WebDriver driver = javascript ? mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class))
+                : mock(WebDriver.class);
+        when(driver.findElements(any(By.class))).thenAnswer(invocation -> invocation.getArgument(0).toString().contains("missing")
+                ? Collections.emptyList() : Collections.singletonList(element));
+        if (javascript) {
+            when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any())).thenAnswer(invocation -> {
+                List<Boolean> result = new ArrayList<Boolean>();
+                for (Object locator : (List<?>) invocation.getArgument(1)) {
+                    result.add(!((List<?>) locator).get(1).toString().startsWith("missing"));
+                }
+                return result;
+            });
+        }
+        return driver;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementWaitEngineTest {
+
+    @Test
+    public void testImmediateCheck() {
+        AtomicInteger checks = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        boolean result = ElementWaitEngine.getInstance().until(null, d -> checks.incrementAndGet() > 0, 10, 100, null);
+
+        Assert.assertTrue(result);
+        Assert.assertEquals(checks.get(), 1);
+        Assert.assertTrue(System.currentTimeMillis() - start < 100);
+    }
+
+    @Test
+    public void testZeroTimeoutChecksOnce() {
+        AtomicInteger checks = new AtomicInteger();
+        ElementWaitEngine engine = ElementWaitEngine.getInstance();
+        boolean result = engine.until(null, d -> {
+            checks.incrementAndGet();
+            throw new NoSuchElementException("missing");
+        }, 0, 100, null);
+
+        Assert.assertFalse(result);
+        Assert.assertEquals(checks.get(), 1);
+        Assert.assertTrue(engine.getLastException() instanceof NoSuchElementException);
+    }
+
+    @Test
+    public void testAdaptivePolling() {
+        AtomicInteger checks = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        boolean result = ElementWaitEngine.getInstance().until(null, d -> checks.incrementAndGet() > 3 ? Boolean.TRUE : Boolean.FALSE,
+                10, 10, null);
+
+        // 10 + 20 + 40 ms of polling
+        Assert.assertTrue(result);
+        Assert.assertEquals(checks.get(), 4);
+        Assert.assertTrue(System.currentTimeMillis() - start < ElementWaitEngine.MAX_POLLING_INTERVAL);
+    }
+
+    @Test
+    public void testStaleHandledOnce() {
+        AtomicInteger refinds = new AtomicInteger();
+        boolean result = ElementWaitEngine.getInstance().until(null, d -> {
+            throw new StaleElementReferenceException("stale");
+        }, 1, 50, () -> refinds.incrementAndGet());
+
+        Assert.assertFalse(result);
+        Assert.assertEquals(refinds.get(), 1);
+    }
+
+    @Test
+    public void testEngineIsReusedPerThread() throws InterruptedException {
+        ElementWaitEngine engine = ElementWaitEngine.getInstance();
+        Assert.assertSame(ElementWaitEngine.getInstance(), engine);
+
+        ElementWaitEngine[] other = new ElementWaitEngine[1];
+        Thread thread = new Thread(() -> other[0] = ElementWaitEngine.getInstance());
+        thread.start();
+        thread.join();
+        Assert.assertNotSame(other[0], engine);
+    }
+
+}
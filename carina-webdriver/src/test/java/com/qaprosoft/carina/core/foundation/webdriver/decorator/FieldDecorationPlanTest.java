@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.FindBy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.webdriver.decorator.FieldDecorationPlan.DecoratedField;
+import com.qaprosoft.carina.core.foundation.webdriver.decorator.FieldDecorationPlan.Kind;
+import com.qaprosoft.carina.core.gui.AbstractUIObject;
+
+public class FieldDecorationPlanTest {
+
+    @Test
+    public void testSuperclassFieldsAreCollected() {
+        Map<String, DecoratedField> fields = toMap(FieldDecorationPlan.get(TestPage.class));
+        Assert.assertEquals(fields.keySet().size(), 4, "Unexpected fields: " + fields.keySet());
+        Assert.assertTrue(fields.containsKey("header"), "Superclass field is not collected");
+        Assert.assertTrue(fields.get("header").getField().isAccessible(), "Field is not made accessible");
+
+        Assert.assertEquals(toMap(FieldDecorationPlan.get(BasePage.class)).keySet().size(), 1);
+    }
+
+    @Test
+    public void testElementKinds() {
+        Map<String, DecoratedField> fields = toMap(FieldDecorationPlan.get(TestPage.class));
+
+        Assert.assertEquals(fields.get("header").getKind(), Kind.ELEMENT);
+        Assert.assertNull(fields.get("header").getListType());
+
+        Assert.assertEquals(fields.get("menu").getKind(), Kind.UI_OBJECT);
+
+        Assert.assertEquals(fields.get("items").getKind(), Kind.ELEMENT_LIST);
+        Assert.assertEquals(fields.get("items").getListType(), ExtendedWebElement.class);
+
+        Assert.assertEquals(fields.get("rows").getKind(), Kind.UI_OBJECT_LIST);
+        Assert.assertEquals(fields.get("rows").getListType(), TestUIObject.class);
+    }
+
+    @Test
+    public void testNotDecoratableFields() throws NoSuchFieldException {
+        // not annotated, unsupported type and raw list
+        Assert.assertNull(FieldDecorationPlan.describe(BasePage.class.getDeclaredField("footer")));
+        Assert.assertNull(FieldDecorationPlan.describe(TestPage.class.getDeclaredField("title")));
+        Assert.assertNull(FieldDecorationPlan.describe(TestPage.class.getDeclaredField("raw")));
+    }
+
+    @Test
+    public void testPlanIsCachedPerClass() {
+        Assert.assertSame(FieldDecorationPlan.get(TestPage.class), FieldDecorationPlan.get(TestPage.class));
+    }
+
+    private static Map<String, DecoratedField> toMap(List<DecoratedField> fields) {
+        Map<String, DecoratedField> map = new HashMap<String, DecoratedField>();
+        for (DecoratedField field : fields) {
+            map.put(field.getField().getName(), field);
+        }
+        return map;
+    }
+
+    public static class BasePage {
+        @FindBy(id = "header")
+        protected ExtendedWebElement header;
+
+        protected ExtendedWebElement footer;
+    }
+
+    public static class TestPage extends BasePage {
+        @FindBy(id = "menu")
+        private TestUIObject menu;
+
+        @FindBy(css = ".item")
+        private List<ExtendedWebElement> items;
+
+        @FindBy(css = ".row")
+        private List<TestUIObject> rows;
+
+        @FindBy(id = "title")
+        private String title;
+
+        @SuppressWarnings("rawtypes")
+        @FindBy(css = ".raw")
+        private List raw;
+    }
+
+    public static class TestUIObject extends AbstractUIObject {
+        public TestUIObject(WebDriver driver, SearchContext searchContext) {
+            super(driver, searchContext);
+        }
+    }
+
+}
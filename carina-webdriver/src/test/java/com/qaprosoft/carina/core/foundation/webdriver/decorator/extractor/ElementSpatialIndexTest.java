@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.decorator.extractor;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementSpatialIndexTest {
+
+    @Test
+    public void testElementsAt() {
+        WebElement header = mock(WebElement.class);
+        WebElement button = mock(WebElement.class);
+        WebElement footer = mock(WebElement.class);
+
+        ElementSpatialIndex index = new ElementSpatialIndex();
+        index.add(header, new Rectangle(0, 0, 100, 1000));
+        index.add(button, new Rectangle(10, 50, 20, 40));
+        index.add(footer, new Rectangle(0, 900, 100, 1000));
+
+        Assert.assertEquals(index.size(), 3);
+        Assert.assertEquals(index.getElementsAt(20, 60), Arrays.asList(header, button));
+        Assert.assertEquals(index.getElementsAt(500, 10), Arrays.asList(header));
+        Assert.assertEquals(index.getElementsAt(50, 100), Arrays.asList(header));
+        Assert.assertEquals(index.getElementsAt(50, 1000), Arrays.asList(footer));
+        Assert.assertTrue(index.getElementsAt(50, 500).isEmpty());
+        Assert.assertTrue(index.getElementsAt(50, 5000).isEmpty());
+        Assert.assertTrue(index.getElementsAt(50, -1).isEmpty());
+    }
+
+    @Test
+    public void testSingleScriptCall() {
+        WebElement first = mock(WebElement.class);
+        WebElement second = mock(WebElement.class);
+        List<?> rects = Arrays.asList(Arrays.asList(first, 0L, 0L, 50L, 20L), Arrays.asList(second, 60L, 300L, 50L, 20L));
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        doReturn(rects).when((JavascriptExecutor) driver).executeScript(anyString());
+
+        ElementSpatialIndex index = ElementSpatialIndex.build(driver, null);
+
+        verify((JavascriptExecutor) driver, times(1)).executeScript(anyString());
+        Assert.assertEquals(index.getElementsAt(10, 10), Arrays.asList(first));
+        Assert.assertEquals(index.getElementsAt(70, 310), Arrays.asList(second));
+        Assert.assertTrue(index.getElementsAt(70, 10).isEmpty());
+    }
+
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.device;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LogcatBufferTest {
+
+    @Test
+    public void testSlice() {
+        LogcatBuffer buffer = new LogcatBuffer(10);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(100 + i * 10, "line" + i);
+        }
+        Assert.assertEquals(buffer.slice(110, 130), Arrays.asList("line1", "line2", "line3"));
+        Assert.assertEquals(buffer.slice(0, 1000).size(), 5);
+        Assert.assertTrue(buffer.slice(200, 300).isEmpty());
+    }
+
+    @Test
+    public void testOverwriteOldest() {
+        LogcatBuffer buffer = new LogcatBuffer(3);
+        for (int i = 0; i < 7; i++) {
+            buffer.add(i, "line" + i);
+        }
+        Assert.assertEquals(buffer.size(), 3);
+        Assert.assertEquals(buffer.getOldestTimestamp(), 4);
+        List<String> lines = buffer.slice(0, 10);
+        Assert.assertEquals(lines, Arrays.asList("line4", "line5", "line6"));
+        Assert.assertEquals(buffer.slice(5, 5), Arrays.asList("line5"));
+    }
+
+    @Test
+    public void testClockMovedBack() {
+        LogcatBuffer buffer = new LogcatBuffer(5);
+        buffer.add(100, "line0");
+        buffer.add(90, "line1");
+        buffer.add(110, "line2");
+        Assert.assertEquals(buffer.slice(100, 100), Arrays.asList("line0", "line1"));
+    }
+
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.device;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LogcatCursorTest {
+
+    @Test
+    public void testParseTime() {
+        Assert.assertTrue(LogcatCursor.parseTime("10-19 12:00:00.123  1234  1250 I Tag: message") > 0);
+        Assert.assertTrue(LogcatCursor.parseTime("10-19 12:00:00.123  1 1 I Tag: a") < LogcatCursor.parseTime("10-19 12:00:00.124  1 1 I Tag: b"));
+        Assert.assertTrue(LogcatCursor.parseTime("10-19 23:59:59.999  1 1 I Tag: a") < LogcatCursor.parseTime("10-20 00:00:00.000  1 1 I Tag: b"));
+        Assert.assertEquals(LogcatCursor.parseTime("--------- beginning of main"), -1);
+        Assert.assertEquals(LogcatCursor.parseTime("logcat: unknown option -- T"), -1);
+    }
+
+    @Test
+    public void testArgs() {
+        LogcatCursor cursor = new LogcatCursor(28);
+        Assert.assertEquals(String.join(" ", cursor.getLogcatArgs()), "logcat -v threadtime");
+        cursor.accept("10-19 12:00:00.005  1  1 I Tag: a");
+        Assert.assertEquals(String.join(" ", cursor.getLogcatArgs()), "logcat -v threadtime -T '10-19 12:00:00.005'");
+    }
+
+    @Test
+    public void testArgsOnOldDevice() {
+        LogcatCursor cursor = new LogcatCursor(19);
+        cursor.accept("10-19 12:00:00.005  1  1 I Tag: a");
+        Assert.assertEquals(String.join(" ", cursor.getLogcatArgs()), "logcat -v threadtime");
+
+        cursor = new LogcatCursor(0);
+        cursor.accept("10-19 12:00:00.005  1  1 I Tag: a");
+        Assert.assertEquals(String.join(" ", cursor.getLogcatArgs()), "logcat -v threadtime");
+    }
+
+    @Test
+    public void testResumeSkipsStreamedLines() {
+        LogcatCursor cursor = new LogcatCursor(28);
+        Assert.assertTrue(cursor.accept("--------- beginning of main"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:00.000  1  1 I Tag: a"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:00.500  1  1 I Tag: b"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:00.500  1  1 I Tag: c"));
+
+        cursor.resume();
+        Assert.assertFalse(cursor.accept("--------- beginning of main"));
+        Assert.assertFalse(cursor.accept("10-19 12:00:00.000  1  1 I Tag: a"));
+        Assert.assertFalse(cursor.accept("10-19 12:00:00.500  1  1 I Tag: b"));
+        Assert.assertFalse(cursor.accept("10-19 12:00:00.500  1  1 I Tag: c"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:00.500  1  1 I Tag: d"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:01.000  1  1 I Tag: e"));
+        Assert.assertTrue(cursor.accept("--------- beginning of system"));
+    }
+
+    @Test
+    public void testResumeWithoutStreamedLines() {
+        LogcatCursor cursor = new LogcatCursor(28);
+        cursor.resume();
+        Assert.assertTrue(cursor.accept("--------- beginning of main"));
+        Assert.assertTrue(cursor.accept("10-19 12:00:00.000  1  1 I Tag: a"));
+    }
+
+}
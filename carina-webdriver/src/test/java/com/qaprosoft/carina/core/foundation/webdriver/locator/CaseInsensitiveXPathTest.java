@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class CaseInsensitiveXPathTest {
+
+    private static final String TRANSLATE = ", 'ABCDEFGHIJKLMNOPQRSTUVWXYZÀÁÂÄÃÇČÉÈÊËĔŒĞĢÎÏÍÌÔÖŌÒÓØŜŞßÙÛÜŪŸ', 'abcdefghijklmnopqrstuvwxyzàáâäåçčéèêëĕœğģîïíìôöōòóøŝşßùûüūÿ') ";
+
+    @DataProvider(name = "xpaths")
+    public static Object[][] xpaths() {
+        return new Object[][] {
+                { "//div[@id='Login']", "//div[translate(@id" + TRANSLATE + "=translate('Login'" + TRANSLATE + "]" },
+                { "//a[contains(text(),'Sign In')]",
+                        "//a[contains(translate(text()" + TRANSLATE + ",translate('Sign In'" + TRANSLATE + ")]" },
+                { "//input[@name='q' and @type='text']", "//input[translate(@name" + TRANSLATE + "=translate('q' " + TRANSLATE
+                        + "and translate(@type" + TRANSLATE + "=translate('text'" + TRANSLATE + "]" } };
+    }
+
+    @Test(dataProvider = "xpaths")
+    public void testTypicalShapes(String xpath, String expected) {
+        By by = ExtendedElementLocator.toCaseInsensitive(By.xpath(xpath).toString());
+        Assert.assertEquals(by, By.xpath(expected));
+    }
+
+    @Test
+    public void testRewriteIsCached() {
+        String locator = By.xpath("//span[text()='Cached']").toString();
+        By by = ExtendedElementLocator.toCaseInsensitive(locator);
+        Assert.assertSame(ExtendedElementLocator.toCaseInsensitive(locator), by);
+        Assert.assertSame(ExtendedElementLocator.toCaseInsensitive(new String(locator)), by);
+    }
+
+}
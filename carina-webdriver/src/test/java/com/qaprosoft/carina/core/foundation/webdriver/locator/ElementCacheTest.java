@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator;
+
+import static org.mockito.Mockito.mock;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementCacheTest {
+
+    @Test
+    public void testCacheIsDriverScoped() {
+        WebDriver driver = mock(WebDriver.class);
+        WebDriver otherDriver = mock(WebDriver.class);
+        WebElement element = mock(WebElement.class);
+
+        ElementCache.getInstance(driver).put(driver, By.id("login"), element);
+
+        Assert.assertSame(ElementCache.getInstance(driver).get(driver, By.id("login")), element);
+        Assert.assertNull(ElementCache.getInstance(otherDriver).get(driver, By.id("login")));
+        Assert.assertNull(ElementCache.getInstance(null));
+
+        ElementCache.release(driver);
+        ElementCache.release(otherDriver);
+    }
+
+    @Test
+    public void testSearchContextIsComparedByIdentity() {
+        WebDriver driver = mock(WebDriver.class);
+        SearchContext root = mock(WebElement.class);
+        SearchContext otherRoot = mock(WebElement.class);
+        WebElement element = mock(WebElement.class);
+
+        ElementCache cache = ElementCache.getInstance(driver);
+        cache.put(root, By.xpath("//a"), element);
+
+        Assert.assertSame(cache.get(root, By.xpath("//a")), element);
+        Assert.assertNull(cache.get(otherRoot, By.xpath("//a")));
+        Assert.assertTrue(cache.remove(root, By.xpath("//a")));
+        Assert.assertFalse(cache.remove(root, By.xpath("//a")));
+
+        ElementCache.release(driver);
+    }
+
+    @Test
+    public void testInvalidateByWrappedDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        EventFiringWebDriver eventFiringDriver = new EventFiringWebDriver(driver);
+
+        ElementCache.getInstance(eventFiringDriver).put(eventFiringDriver, By.name("q"), mock(WebElement.class));
+        Assert.assertSame(ElementCache.getInstance(driver), ElementCache.getInstance(eventFiringDriver));
+        Assert.assertEquals(ElementCache.getInstance(driver).size(), 1);
+
+        // listener receives underlying driver
+        ElementCache.invalidate(driver);
+        Assert.assertEquals(ElementCache.getInstance(eventFiringDriver).size(), 0);
+
+        ElementCache.release(eventFiringDriver);
+    }
+
+    @Test
+    public void testGenerationReadDoesNotCreateCache() {
+        WebDriver driver = mock(WebDriver.class);
+
+        // reading doesn't create the cache
+        Assert.assertEquals(ElementCache.getGeneration(driver), -1);
+        Assert.assertEquals(ElementCache.getGeneration(driver), -1);
+
+        ElementCache.getInstance(driver);
+        Assert.assertEquals(ElementCache.getGeneration(driver), 0);
+        ElementCache.invalidate(driver);
+        Assert.assertEquals(ElementCache.getGeneration(driver), 1);
+        ElementCache.release(driver);
+
+        // event before first cached element is noticed as well
+        ElementCache.invalidate(driver);
+        Assert.assertEquals(ElementCache.getGeneration(driver), 1);
+
+        ElementCache.release(driver);
+        Assert.assertEquals(ElementCache.getGeneration(driver), -1);
+    }
+
+    @Test
+    public void testMutatingScripts() {
+        Assert.assertTrue(ElementCache.isMutatingScript("arguments[0].click();"));
+        Assert.assertTrue(ElementCache.isMutatingScript("arguments[0].style.display = 'block';"));
+        Assert.assertTrue(ElementCache.isMutatingScript("document.getElementById('q').value='text'"));
+        Assert.assertTrue(ElementCache.isMutatingScript("arguments[0].parentNode.removeChild(arguments[0])"));
+        Assert.assertTrue(ElementCache.isMutatingScript("window.location.href = 'http://localhost'"));
+        Assert.assertTrue(ElementCache.isMutatingScript("$('#source').simulate('drag')"));
+        Assert.assertTrue(ElementCache.isMutatingScript("mobile: tap"));
+
+        Assert.assertFalse(ElementCache.isMutatingScript("return document.readyState"));
+        Assert.assertFalse(ElementCache.isMutatingScript("return document.elementFromPoint(arguments[0], arguments[1])"));
+        Assert.assertFalse(ElementCache.isMutatingScript("var style = window.getComputedStyle(el); return style.display !== 'none'"));
+        Assert.assertFalse(ElementCache.isMutatingScript("return arguments[0].value == 'text'"));
+        Assert.assertFalse(ElementCache.isMutatingScript("window.scrollBy(0,100);"));
+        Assert.assertFalse(ElementCache.isMutatingScript(null));
+    }
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.FindBy;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.Configuration;
+import com.qaprosoft.carina.core.foundation.utils.Configuration.Parameter;
+import com.qaprosoft.carina.core.foundation.utils.R;
+import com.qaprosoft.carina.core.foundation.utils.resources.L10N;
+import com.qaprosoft.carina.core.foundation.webdriver.decorator.ExtendedWebElement;
+
+public class LocalizedAnnotationsTest {
+
+    private String locale;
+    private String enableL10N;
+
+    @BeforeClass
+    public void initL10N() {
+        locale = Configuration.get(Parameter.LOCALE);
+        enableL10N = Configuration.get(Parameter.ENABLE_L10N);
+        R.CONFIG.put("enable_l10n", "true");
+        R.CONFIG.put("locale", "en_US,de_DE");
+        L10N.init();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreL10N() {
+        R.CONFIG.put("locale", locale);
+        R.CONFIG.put("enable_l10n", enableL10N);
+    }
+
+    @Test
+    public void testLocalizedLocatorIsResolvedAfterLocaleChange() throws NoSuchFieldException {
+        LocalizedAnnotations annotations = new LocalizedAnnotations(TestPage.class.getDeclaredField("title"));
+        Assert.assertEquals(annotations.buildBy(), By.xpath("//h1[text()='Welcome']"));
+
+        R.CONFIG.put("locale", "de_DE,en_US");
+        try {
+            Assert.assertEquals(new LocalizedAnnotations(TestPage.class.getDeclaredField("title")).buildBy(),
+                    By.xpath("//h1[text()='Willkommen']"));
+        } finally {
+            R.CONFIG.put("locale", "en_US,de_DE");
+        }
+    }
+
+    @Test
+    public void testConstantLocatorIsReused() throws NoSuchFieldException {
+        By by = new LocalizedAnnotations(TestPage.class.getDeclaredField("logo")).buildBy();
+        Assert.assertEquals(by, By.id("logo"));
+        Assert.assertSame(new LocalizedAnnotations(TestPage.class.getDeclaredField("logo")).buildBy(), by);
+    }
+
+    public static class TestPage {
+        @FindBy(xpath = "//h1[text()='{L10N:locators.title}']")
+        private ExtendedWebElement title;
+
+        @FindBy(id = "logo")
+        private ExtendedWebElement logo;
+    }
+
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator.internal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.qaprosoft.carina.core.foundation.utils.R;
+import com.qaprosoft.carina.core.foundation.webdriver.locator.ElementCache;
+import com.qaprosoft.carina.core.gui.AbstractUIObject;
+
+public class AbstractUIObjectListHandlerTest {
+
+    private TestLocator locator;
+    private WebDriver driver;
+    private AtomicInteger created;
+    private List<AbstractUIObject> list;
+
+    @BeforeClass
+    public void beforeClass() {
+        R.CONFIG.put("explicit_timeout", "1");
+        R.CONFIG.put("retry_interval", "100");
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        locator = new TestLocator(By.xpath("//li"));
+        locator.elements.add(createElement());
+        locator.elements.add(createElement());
+        driver = createDriver(locator);
+        created = new AtomicInteger();
+        list = createList(new AbstractUIObjectListHandler<AbstractUIObject>(driver, locator, (element, index) -> {
+            created.incrementAndGet();
+            return mock(AbstractUIObject.class);
+        }));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        ElementCache.release(driver);
+    }
+
+    @Test
+    public void testSnapshotIsReused() {
+        Assert.assertEquals(list.size(), 2);
+        AbstractUIObject first = list.get(0);
+        Assert.assertSame(list.get(0), first);
+        int waitLookups = locator.waitLookups.get();
+        list.get(1);
+        Assert.assertEquals(created.get(), 2);
+        // explicit wait isn't repeated for reused snapshot
+        Assert.assertEquals(locator.waitLookups.get(), waitLookups);
+    }
+
+    @Test
+    public void testSnapshotExpires() throws InterruptedException {
+        AbstractUIObject first = list.get(0);
+        int waitLookups = locator.waitLookups.get();
+        Thread.sleep(1100);
+        Assert.assertNotSame(list.get(0), first);
+        Assert.assertTrue(locator.waitLookups.get() > waitLookups);
+    }
+
+    @Test
+    public void testSnapshotIsDroppedOnDriverEvent() {
+        AbstractUIObject first = list.get(0);
+        int waitLookups = locator.waitLookups.get();
+        // e.g. click or navigation reported by DriverListener
+        ElementCache.invalidate(driver);
+        Assert.assertNotSame(list.get(0), first);
+        Assert.assertTrue(locator.waitLookups.get() > waitLookups);
+    }
+
+    @Test
+    public void testSnapshotIsDroppedForReRenderedElements() {
+        AbstractUIObject first = list.get(0);
+        locator.elements.set(0, createElement());
+        Assert.assertNotSame(list.get(0), first);
+        Assert.assertEquals(list.size(), 2);
+    }
+
+    @Test
+    public void testGrowingList() {
+        Assert.assertEquals(list.size(), 2);
+        locator.elements.add(createElement());
+        Assert.assertEquals(list.size(), 3);
+        Assert.assertNotNull(list.get(2));
+    }
+
+    @Test
+    public void testModifyingCalls() {
+        AbstractUIObject first = list.get(0);
+        list.sort((o1, o2) -> 0);
+        Assert.assertTrue(list.remove(first));
+        Assert.assertTrue(list.add(first));
+        list.set(0, first);
+        Iterator<AbstractUIObject> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        // modifications aren't shared between calls
+        Assert.assertEquals(list.size(), 2);
+        Assert.assertSame(list.get(0), first);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AbstractUIObject> createList(AbstractUIObjectListHandler<AbstractUIObject> handler) {
+        return (List<AbstractUIObject>) Proxy.newProxyInstance(AbstractUIObjectListHandlerTest.class.getClassLoader(),
+                new Class<?>[] { List.class }, handler);
+    }
+
+    private static WebElement createElement() {
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        return element;
+    }
+
+    private static WebDriver createDriver(TestLocator locator) {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.findElement(any(By.class))).thenAnswer(invocation -> {
+            locator.waitLookups.incrementAndGet();
+            return locator.elements.get(0);
+        });
+        when(driver.findElements(any(By.class))).thenAnswer(invocation -> new ArrayList<WebElement>(locator.elements));
+        return driver;
+    }
+
+    private static class TestLocator implements ElementLocator {
+        // read by the handler via reflection
+        @SuppressWarnings("unused")
+        private final By by;
+        private final List<WebElement> elements = new ArrayList<WebElement>();
+        private final AtomicInteger waitLookups = new AtomicInteger();
+
+        private TestLocator(By by) {
+            this.by = by;
+        }
+
+        @Override
+        public WebElement findElement() {
+            return elements.get(0);
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return new ArrayList<WebElement>(elements);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2013-2019 QaProSoft (http://www.qaprosoft.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.qaprosoft.carina.core.foundation.webdriver.locator.internal;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class UIObjectListSnapshotTest {
+
+    @Test
+    public void testItemsAreBuiltLazilyOnce() {
+        List<WebElement> elements = new ArrayList<WebElement>();
+        for (int i = 0; i < 50; i++) {
+            elements.add(mock(WebElement.class));
+        }
+        AtomicInteger created = new AtomicInteger();
+        UIObjectListSnapshot<String> list = new UIObjectListSnapshot<String>(elements, (element, index) -> {
+            created.incrementAndGet();
+            return "item - " + index;
+        });
+
+        Assert.assertEquals(list.size(), 50);
+        Assert.assertEquals(created.get(), 0);
+
+        Assert.assertEquals(list.get(10), "item - 10");
+        Assert.assertEquals(list.get(10), "item - 10");
+        Assert.assertEquals(created.get(), 1);
+
+        for (String item : list) {
+            Assert.assertNotNull(item);
+        }
+        Assert.assertEquals(created.get(), 50);
+    }
+
+}